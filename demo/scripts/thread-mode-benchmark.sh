@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling on the /order and /product endpoints.
+# Requires a Java 21 JDK and the database configured in application.properties.
+#
+#   scripts/thread-mode-benchmark.sh [concurrency] [duration]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${1:-400}"
+DURATION="${2:-60s}"
+PORT=8080
+OUT=target/thread-mode-benchmark
+mkdir -p "$OUT"
+
+./mvnw -q -Pjava21 -DskipTests package
+./mvnw -q -Pjava21 test-compile
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+run() {
+    local label="$1" profiles="$2"
+    java -jar "$JAR" --server.port=$PORT --spring.profiles.active="$profiles" > "$OUT/$label.log" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:$PORT/api/product?limit=1" > /dev/null; do sleep 1; done
+    ./mvnw -q -Pjava21 exec:java -Dexec.classpathScope=test \
+        -Dexec.mainClass=com.example.demo.load.LoadDriver \
+        -Dexec.args="--base-url=http://localhost:$PORT/api --concurrency=$CONCURRENCY --duration=$DURATION --label=$label --out=$OUT/$label.json"
+    kill "$pid"
+    wait "$pid" || true
+}
+
+run platform default
+run virtual virtual-threads
+
+echo "Results written to $OUT/platform.json and $OUT/virtual.json"
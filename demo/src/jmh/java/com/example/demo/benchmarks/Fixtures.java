@@ -0,0 +1,78 @@
+package com.example.demo.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Configured like the mapper Spring Boot builds for the application.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Order order(int items) {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        customer.setName("Maria Souza");
+        customer.setAddress("Rua das Flores, 123 - Sao Paulo");
+        customer.setPhone("+5511999990000");
+        customer.setEmail("maria.souza@example.com");
+
+        Order order = new Order();
+        order.setId(1001L);
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.of(2024, 6, 1, 12, 30));
+        order.setStatus(OrderStatus.PENDING);
+
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Product product = new Product((long) i, "Product " + i, "A reasonably descriptive product description " + i,
+                    BigDecimal.valueOf(1999 + i, 2));
+            OrderItem item = new OrderItem();
+            item.setId(10_000L + i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 5);
+            item.setUnitPrice(product.getPrice());
+            orderItems.add(item);
+        }
+        order.setOrderItems(orderItems);
+        order.setTotal(BigDecimal.ZERO);
+        return order;
+    }
+
+    /**
+     * A create payload as clients send it: references by id only.
+     */
+    static String createPayload(int items) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"customer\":{\"id\":7},\"orderDate\":\"2024-06-01T12:30:00\",\"total\":0,\"status\":\"PENDING\",\"orderItems\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"product\":{\"id\":").append(i).append("},\"quantity\":").append(1 + i % 5)
+                    .append(",\"unitPrice\":").append(BigDecimal.valueOf(1999 + i, 2)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.demo.exceptions.GlobalExceptionHandler;
+import com.example.demo.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The 404 path as a controller takes it: build the exception (including its stack trace), map it in
+ * {@link GlobalExceptionHandler} and write the error body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ServletWebRequest request;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/order/42"));
+        writer = Fixtures.objectMapper().writer();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> mapException() {
+        return handler.resourceNotFoundException(new ResourceNotFoundException("Order not found with id 42"), request);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteBody() throws Exception {
+        return writer.writeValueAsBytes(mapException().getBody());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.entities.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson cost of the order graph: serialization walks the managed/back references and
+ * {@code OrderItem.getOrderId()}, deserialization rebuilds the back references of a create payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({ "1", "10", "100", "500" })
+    private int items;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private Order order;
+    private byte[] createPayload;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        writer = objectMapper.writerFor(Order.class);
+        reader = objectMapper.readerFor(Order.class);
+        order = Fixtures.order(items);
+        createPayload = Fixtures.createPayload(items).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return writer.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order deserializeCreatePayload() throws Exception {
+        return reader.readValue(createPayload);
+    }
+}
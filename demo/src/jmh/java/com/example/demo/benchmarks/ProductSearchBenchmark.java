@@ -0,0 +1,121 @@
+package com.example.demo.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.dto.ProductMatch;
+import com.example.demo.entities.Product;
+import com.example.demo.search.ProductSearchIndex;
+
+/**
+ * Search latency over a synthetic catalog. Words are drawn from a skewed vocabulary so that common
+ * and rare terms both occur; the heap taken by the index is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class ProductSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int PAGE = 10_000;
+
+    @Param({ "1000000" })
+    private int products;
+
+    private ProductSearchIndex index;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        words = new String[VOCABULARY];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(random);
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+
+        index = new ProductSearchIndex(100_000, 50);
+        index.beginLoad();
+        List<Product> page = new ArrayList<>(PAGE);
+        for (long id = 1; id <= products; id++) {
+            page.add(new Product(id, text(random, 3), text(random, 20), BigDecimal.valueOf(random.nextInt(100, 20_000), 2)));
+            if (page.size() == PAGE) {
+                index.load(page);
+                page.clear();
+            }
+        }
+        index.load(page);
+        index.endLoad();
+
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("%nindex: %d products, %d terms, ~%d MB heap%n",
+                index.size(), index.vocabularySize(), (after - before) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public List<ProductMatch> rareWord() {
+        return index.search(words[VOCABULARY - 1], null, null, 20);
+    }
+
+    @Benchmark
+    public List<ProductMatch> commonWord() {
+        return index.search(words[0], null, null, 20);
+    }
+
+    @Benchmark
+    public List<ProductMatch> twoWords() {
+        return index.search(words[3] + " " + words[50], null, null, 20);
+    }
+
+    @Benchmark
+    public List<ProductMatch> twoWordsLastAsPrefix() {
+        return index.search(words[3] + " " + words[50].substring(0, 3), null, null, 20);
+    }
+
+    @Benchmark
+    public List<ProductMatch> commonWordInPriceRange() {
+        return index.search(words[0], new BigDecimal("10.00"), new BigDecimal("20.00"), 20);
+    }
+
+    /** Zipf-like pick: low indexes are far more frequent than high ones. */
+    private String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int index = (int) Math.min(VOCABULARY - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(VOCABULARY))) - 1);
+            text.append(i == 0 ? "" : " ").append(words[index]);
+        }
+        return text.toString();
+    }
+
+    private static String word(SplittableRandom random) {
+        char[] letters = new char[random.nextInt(4, 10)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
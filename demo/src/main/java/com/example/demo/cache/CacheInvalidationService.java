@@ -0,0 +1,139 @@
+package com.example.demo.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entities.CacheInvalidation;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.CacheInvalidationRepository;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.ProductRepository;
+import com.example.demo.search.CustomerSearchIndex;
+import com.example.demo.search.ProductSearchIndex;
+import com.example.demo.services.ProductCatalogCache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the per-instance caches of customers and products in step across API instances.
+ *
+ * <p>Every write through the API is recorded in {@code CacheInvalidations} after it commits. Each
+ * instance polls for other instances' records and evicts the row from the second-level cache, drops
+ * cached query results and {@link ProductCatalogCache} entries, and refreshes the search indexes. A
+ * write is visible everywhere within one poll interval.
+ *
+ * <p>Records are read by their creation time, looking back {@code app.cache.invalidation.lookback}
+ * so that transactions committing late and modest clock skew between instances are still seen.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<Long, LocalDateTime> applied = new HashMap<>();
+    private LocalDateTime lastPoll = LocalDateTime.now();
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductCatalogCache productCatalogCache;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final Duration lookback;
+    private final Duration retention;
+
+    public CacheInvalidationService(CacheInvalidationRepository cacheInvalidationRepository,
+                                    CustomerRepository customerRepository,
+                                    ProductRepository productRepository,
+                                    EntityManagerFactory entityManagerFactory,
+                                    ProductCatalogCache productCatalogCache,
+                                    CustomerSearchIndex customerSearchIndex,
+                                    ProductSearchIndex productSearchIndex,
+                                    @Value("${app.cache.invalidation.lookback:30s}") Duration lookback,
+                                    @Value("${app.cache.invalidation.retention:1h}") Duration retention) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.productCatalogCache = productCatalogCache;
+        this.customerSearchIndex = customerSearchIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.lookback = lookback;
+        this.retention = retention;
+    }
+
+    /** Call once the customer write has committed. */
+    @Transactional
+    public void customerChanged(Long id) {
+        publish(CacheInvalidation.Type.CUSTOMER, id);
+    }
+
+    /** Call once the product write has committed. */
+    @Transactional
+    public void productChanged(Long id) {
+        publish(CacheInvalidation.Type.PRODUCT, id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        List<CacheInvalidation> invalidations =
+                cacheInvalidationRepository.findByCreatedAtAfterAndOriginNotOrderByIdAsc(lastPoll.minus(lookback), origin);
+        lastPoll = now;
+
+        boolean evicted = false;
+        for (CacheInvalidation invalidation : invalidations) {
+            if (applied.putIfAbsent(invalidation.getId(), invalidation.getCreatedAt()) == null) {
+                apply(invalidation);
+                evicted = true;
+            }
+        }
+        if (evicted) {
+            // Query results can't be traced back to rows, so all of them go.
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        LocalDateTime forgetBefore = now.minus(lookback.multipliedBy(2));
+        applied.values().removeIf(createdAt -> createdAt.isBefore(forgetBefore));
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.cleanup-interval-ms:600000}")
+    @Transactional
+    public void purge() {
+        int deleted = cacheInvalidationRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        log.debug("Purged {} cache invalidations older than {}", deleted, retention);
+    }
+
+    private void publish(CacheInvalidation.Type type, Long id) {
+        cacheInvalidationRepository.save(new CacheInvalidation(type, id, origin, LocalDateTime.now()));
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        Long id = invalidation.getEntityId();
+        switch (invalidation.getEntityType()) {
+            case CUSTOMER -> {
+                entityManagerFactory.getCache().evict(Customer.class, id);
+                customerRepository.findById(id).ifPresentOrElse(customerSearchIndex::put, () -> customerSearchIndex.remove(id));
+            }
+            case PRODUCT -> {
+                entityManagerFactory.getCache().evict(Product.class, id);
+                productCatalogCache.invalidate(id);
+                productRepository.findById(id).ifPresentOrElse(productSearchIndex::put, () -> productSearchIndex.remove(id));
+            }
+        }
+    }
+}
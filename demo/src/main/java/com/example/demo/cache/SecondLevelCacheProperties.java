@@ -0,0 +1,69 @@
+package com.example.demo.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code app.cache.*}: size and expiry of each Hibernate second-level cache region.
+ */
+@ConfigurationProperties("app.cache")
+public class SecondLevelCacheProperties {
+
+    private Region customers = new Region(10_000, Duration.ofMinutes(30));
+    private Region products = new Region(10_000, Duration.ofMinutes(30));
+    private Region queries = new Region(10_000, Duration.ofMinutes(5));
+
+    public Region getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(Region customers) {
+        this.customers = customers;
+    }
+
+    public Region getProducts() {
+        return products;
+    }
+
+    public void setProducts(Region products) {
+        this.products = products;
+    }
+
+    public Region getQueries() {
+        return queries;
+    }
+
+    public void setQueries(Region queries) {
+        this.queries = queries;
+    }
+
+    public static class Region {
+
+        private long maximumSize;
+        private Duration expireAfterWrite;
+
+        public Region() {}
+
+        public Region(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.demo.web.ConcurrencyLimitInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Value("${api.concurrency.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyLimitEnabled) {
+            registry.addInterceptor(concurrencyLimitInterceptor)
+                    .excludePathPatterns("/actuator/**", "/error", "/swagger-ui/**", "/v3/api-docs/**");
+        }
+    }
+}
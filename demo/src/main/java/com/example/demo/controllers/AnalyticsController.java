@@ -0,0 +1,103 @@
+package com.example.demo.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.demo.dto.RollupRebuildReport;
+import com.example.demo.entities.CustomerSalesMonthly;
+import com.example.demo.entities.ProductSalesDaily;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.repositories.CustomerSalesMonthlyRepository;
+import com.example.demo.repositories.ProductSalesDailyRepository;
+import com.example.demo.services.SalesRollupService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private ProductSalesDailyRepository productSalesRepository;
+
+    @Autowired
+    private CustomerSalesMonthlyRepository customerSalesRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Operation(summary = "Return quantity and revenue per product per day")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping("/product-sales")
+    public ResponseEntity<List<ProductSalesDaily>> getProductSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestParam(required = false) Long productId) {
+        requireRange(from, to);
+        List<ProductSalesDaily> rows = productId == null
+                ? productSalesRepository.findBySalesDateBetweenOrderBySalesDateAscProductIdAsc(from, to)
+                : productSalesRepository.findByProductIdAndSalesDateBetweenOrderBySalesDateAsc(productId, from, to);
+        return ResponseEntity.ok(rows);
+    }
+
+    @Operation(summary = "Return order count and revenue per customer per month")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping("/customer-sales")
+    public ResponseEntity<List<CustomerSalesMonthly>> getCustomerSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                       @RequestParam(required = false) Long customerId) {
+        requireRange(from, to);
+        LocalDate firstMonth = from.withDayOfMonth(1);
+        LocalDate lastMonth = to.withDayOfMonth(1);
+        List<CustomerSalesMonthly> rows = customerId == null
+                ? customerSalesRepository.findBySalesMonthBetweenOrderBySalesMonthAscCustomerIdAsc(firstMonth, lastMonth)
+                : customerSalesRepository.findByCustomerIdAndSalesMonthBetweenOrderBySalesMonthAsc(customerId, firstMonth, lastMonth);
+        return ResponseEntity.ok(rows);
+    }
+
+    @Operation(summary = "Recompute the sales rollups from orders and report rows that were wrong")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildReport> rebuildRollups() {
+        return ResponseEntity.ok(salesRollupService.rebuild());
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidInputException("from must not be after to");
+        }
+    }
+}
@@ -5,13 +5,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.cache.CacheInvalidationService;
+import com.example.demo.dto.CustomerMatch;
+import com.example.demo.dto.CustomerSummary;
+import com.example.demo.dto.MultiGetResponse;
 import com.example.demo.entities.Customer;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.exceptions.SearchIndexNotReadyException;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.pagination.KeysetPagination;
 import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.search.CustomerSearchIndex;
+import com.example.demo.web.EntityTags;
+import com.example.demo.web.FieldSets;
+import com.example.demo.web.MultiGet;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -27,6 +41,21 @@ public class CustomerController {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private MultiGet multiGet;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Value("${search.customers.max-limit:50}")
+    private int maxSearchLimit;
+
     @Operation(summary = "Return a list of all customers")
     @ApiResponses(value = {
     	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
@@ -39,8 +68,77 @@ public class CustomerController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    public ResponseEntity<List<Customer>> getAllCustomers(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) String fields) {
+        FieldSets.requireFull(fields);
+        int pageSize = pagination.resolveLimit(limit);
+        long after = cursor == null ? Long.MIN_VALUE : KeysetCursor.decode(cursor).id();
+        List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(after, pagination.window(pageSize));
+        return pagination.respond(customers, pageSize, customer -> KeysetCursor.of(customer.getId()));
+    }
+
+    @Operation(summary = "Return a list of all customers with summary fields only")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = { "fields=" + FieldSets.SUMMARY, "!ids" })
+    public ResponseEntity<List<CustomerSummary>> getAllCustomerSummaries(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer limit) {
+        int pageSize = pagination.resolveLimit(limit);
+        long after = cursor == null ? Long.MIN_VALUE : KeysetCursor.decode(cursor).id();
+        List<CustomerSummary> customers = customerRepository.findSummaryPage(after, pagination.window(pageSize));
+        return pagination.respond(customers, pageSize, customer -> KeysetCursor.of(customer.id()));
+    }
+
+    @Operation(summary = "Return many customers by ID")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<Customer>> getCustomersById(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = multiGet.resolveIds(ids);
+        return ResponseEntity.ok(multiGet.respond(distinctIds, customerRepository.loadAllById(distinctIds), Customer::getId));
+    }
+
+    @Operation(summary = "Search customers by name, email or phone prefix or substring")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerMatch>> searchCustomers(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        if (q.isBlank()) {
+            throw new InvalidInputException("q is required");
+        }
+        if (limit < 1 || limit > maxSearchLimit) {
+            throw new InvalidInputException("limit must be between 1 and " + maxSearchLimit);
+        }
+        if (!customerSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("The customer search index is still loading, retry shortly");
+        }
+        return ResponseEntity.ok(customerSearchIndex.search(q, limit));
     }
 
     @Operation(summary = "Return a customer by ID")
@@ -55,9 +153,17 @@ public class CustomerController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Long version = customerRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + id));
+            if (EntityTags.matches(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version)).build();
+            }
+        }
         return customerRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(customer -> ResponseEntity.ok().eTag(EntityTags.of(customer.getVersion())).body(customer))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + id));
     }
 
@@ -75,6 +181,8 @@ public class CustomerController {
     @PostMapping
     public ResponseEntity<Customer> createCustomer(@Valid @RequestBody Customer customer) {
         Customer savedCustomer = customerRepository.save(customer);
+        customerSearchIndex.put(savedCustomer);
+        cacheInvalidationService.customerChanged(savedCustomer.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCustomer);
     }
 
@@ -90,16 +198,21 @@ public class CustomerController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @PutMapping("/{id}")
-    public ResponseEntity<Customer> updateCustomer(@PathVariable Long id, @Valid @RequestBody Customer customerDetails) {
+    public ResponseEntity<Customer> updateCustomer(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody Customer customerDetails) {
         return customerRepository.findById(id)
                 .map(customer -> {
+                    EntityTags.requireCurrent(ifMatch, customerDetails.getVersion(), customer.getVersion(), "Customer " + id);
                     customer.setName(customerDetails.getName());
                     customer.setEmail(customerDetails.getEmail());
                     customer.setPhone(customerDetails.getPhone());
                     customer.setAddress(customerDetails.getAddress());
                     customer.setPassword(customerDetails.getPassword());
                     Customer updatedCustomer = customerRepository.save(customer);
-                    return ResponseEntity.ok(updatedCustomer);
+                    customerSearchIndex.put(updatedCustomer);
+                    cacheInvalidationService.customerChanged(id);
+                    return ResponseEntity.ok().eTag(EntityTags.of(updatedCustomer.getVersion())).body(updatedCustomer);
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + id));
     }
@@ -120,6 +233,8 @@ public class CustomerController {
         return customerRepository.findById(id)
                 .map(customer -> {
                     customerRepository.delete(customer);
+                    customerSearchIndex.remove(id);
+                    cacheInvalidationService.customerChanged(id);
                     return ResponseEntity.noContent().<Void>build();
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + id));
@@ -1,15 +1,46 @@
 package com.example.demo.controllers;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.dto.BatchStatusChangeRequest;
+import com.example.demo.dto.BatchStatusChangeResponse;
+import com.example.demo.dto.BulkOrderResponse;
+import com.example.demo.dto.MultiGetResponse;
+import com.example.demo.dto.OrderFilter;
+import com.example.demo.dto.OrderStatusChange;
+import com.example.demo.dto.OrderStatusCounts;
+import com.example.demo.dto.OrderSummary;
+import com.example.demo.dto.OrderVersions;
+import com.example.demo.dto.StatusChangeRequest;
+import com.example.demo.dto.StreamedOrderResponse;
 import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.exceptions.InvalidInputException;
 import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.pagination.KeysetPagination;
 import com.example.demo.repositories.OrderRepository;
+import com.example.demo.services.OrderBulkService;
+import com.example.demo.services.OrderExportService;
+import com.example.demo.services.OrderQueryService;
+import com.example.demo.services.OrderService;
+import com.example.demo.services.OrderStatusCountService;
+import com.example.demo.services.OrderStatusService;
+import com.example.demo.services.OrderStreamService;
+import com.example.demo.web.EntityTags;
+import com.example.demo.web.FieldSets;
+import com.example.demo.web.MultiGet;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +54,33 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private MultiGet multiGet;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Autowired
+    private OrderStreamService orderStreamService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
     @Operation(summary = "Return a list of all orders")
     @ApiResponses(value = {
     	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
@@ -35,8 +93,95 @@ public class OrderController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public ResponseEntity<List<Order>> getAllOrders(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String status,
+                                                    @RequestParam(required = false) Long customerId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                    @RequestParam(required = false) String fields) {
+        FieldSets.requireFull(fields);
+        OrderFilter filter = filter(status, customerId, from, to);
+        int pageSize = pagination.resolveLimit(limit);
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decodeDated(cursor);
+        List<Order> orders = orderQueryService.findPage(filter, after, pagination.window(pageSize));
+        return pagination.respond(orders, pageSize, order -> KeysetCursor.of(order.getOrderDate(), order.getId()));
+    }
+
+    @Operation(summary = "Return a list of all orders with summary fields only")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = { "fields=" + FieldSets.SUMMARY, "!ids" })
+    public ResponseEntity<List<OrderSummary>> getAllOrderSummaries(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(required = false) String status,
+                                                                   @RequestParam(required = false) Long customerId,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        OrderFilter filter = filter(status, customerId, from, to);
+        int pageSize = pagination.resolveLimit(limit);
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decodeDated(cursor);
+        List<OrderSummary> orders = orderQueryService.findSummaryPage(filter, after, pagination.window(pageSize));
+        return pagination.respond(orders, pageSize, order -> KeysetCursor.of(order.orderDate(), order.id()));
+    }
+
+    @Operation(summary = "Return many orders by ID")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<Order>> getOrdersById(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = multiGet.resolveIds(ids);
+        return ResponseEntity.ok(multiGet.respond(distinctIds, orderQueryService.findAllById(distinctIds), Order::getId));
+    }
+
+    @Operation(summary = "Return the number of orders in each status")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping("/status-counts")
+    public ResponseEntity<OrderStatusCounts> getOrderStatusCounts() {
+        return ResponseEntity.ok(orderStatusCountService.counts());
+    }
+
+    @Operation(summary = "Stream all orders as newline-delimited JSON")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderExportService::writeNdjson);
     }
 
     @Operation(summary = "Return an order by ID")
@@ -51,9 +196,18 @@ public class OrderController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-        return orderRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Order> getOrderById(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // One aggregate query over the order, customer and product versions; nothing is hydrated.
+            String tag = orderRepository.findVersionsById(id).map(EntityTags::of)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+            }
+        }
+        return orderQueryService.findById(id)
+                .map(order -> ResponseEntity.ok().eTag(EntityTags.of(OrderVersions.of(order))).body(order))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
     }
 
@@ -70,8 +224,43 @@ public class OrderController {
     	})
     @PostMapping
     public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) {
-        Order savedOrder = orderRepository.save(order);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedOrder);
+        Order savedOrder = orderService.createOrder(order);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(OrderVersions.of(savedOrder))).body(savedOrder);
+    }
+
+    @Operation(summary = "Create many orders in one request")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponse> createOrders(@RequestBody List<Order> orders) {
+        return ResponseEntity.ok(orderBulkService.ingest(orders));
+    }
+
+    @Operation(summary = "Create one order with a very large item list, streamed")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamedOrderResponse> createOrderStreaming(InputStream body) {
+        StreamedOrderResponse savedOrder = orderStreamService.ingest(body);
+        // Tagged like GET /order/{id}, so the tag works as If-Match; the items are not loaded for it.
+        String tag = orderRepository.findVersionsById(savedOrder.id()).map(EntityTags::of).orElseThrow();
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(tag).body(savedOrder);
     }
 
     @Operation(summary = "Update an order by ID")
@@ -86,18 +275,44 @@ public class OrderController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @PutMapping("/{id}")
-    public ResponseEntity<Order> updateOrder(@PathVariable Long id, @Valid @RequestBody Order orderDetails) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
+    public ResponseEntity<Order> updateOrder(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @Valid @RequestBody Order orderDetails) {
+        Order updatedOrder = orderService.updateOrder(id, orderDetails, ifMatch);
+        return ResponseEntity.ok().eTag(EntityTags.of(OrderVersions.of(updatedOrder))).body(updatedOrder);
+    }
 
-        order.setCustomer(orderDetails.getCustomer());
-        order.setOrderDate(orderDetails.getOrderDate());
-        order.setTotal(orderDetails.getTotal());
-        order.setStatus(orderDetails.getStatus());
-        order.setOrderItems(orderDetails.getOrderItems());
+    @Operation(summary = "Change the status of an order")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<OrderStatusChange> updateOrderStatus(@PathVariable Long id, @RequestBody StatusChangeRequest request) {
+        OrderStatusChange change = orderStatusService.changeStatus(id, OrderStatus.parse(request.status()), request.version());
+        return ResponseEntity.ok().eTag(EntityTags.of(change.version())).body(change);
+    }
 
-        Order updatedOrder = orderRepository.save(order);
-        return ResponseEntity.ok(updatedOrder);
+    @Operation(summary = "Change the status of many orders")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @PatchMapping("/status")
+    public ResponseEntity<BatchStatusChangeResponse> updateOrderStatuses(@RequestBody BatchStatusChangeRequest request) {
+        return ResponseEntity.ok(orderStatusService.changeStatus(request.ids(), OrderStatus.parse(request.status())));
     }
 
     @Operation(summary = "Delete an order by ID")
@@ -113,10 +328,14 @@ public class OrderController {
     	})
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
-
-        orderRepository.delete(order);
+        orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static OrderFilter filter(String status, Long customerId, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidInputException("from must be before to");
+        }
+        return new OrderFilter(status == null ? null : OrderStatus.parse(status), customerId, from, to);
+    }
 }
@@ -9,7 +9,10 @@ import org.springframework.web.bind.annotation.*;
 
 import com.example.demo.entities.OrderItem;
 import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.pagination.KeysetPagination;
 import com.example.demo.repositories.OrderItemRepository;
+import com.example.demo.services.OrderService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +26,12 @@ public class OrderItemController {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private OrderService orderService;
+
     @Operation(summary = "Return a list of all order items")
     @ApiResponses(value = {
     	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
@@ -35,8 +44,12 @@ public class OrderItemController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping
-    public List<OrderItem> getAllOrderItems() {
-        return orderItemRepository.findAll();
+    public ResponseEntity<List<OrderItem>> getAllOrderItems(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        int pageSize = pagination.resolveLimit(limit);
+        long after = cursor == null ? Long.MIN_VALUE : KeysetCursor.decode(cursor).id();
+        List<OrderItem> orderItems = orderItemRepository.findByIdGreaterThanOrderByIdAsc(after, pagination.window(pageSize));
+        return pagination.respond(orderItems, pageSize, orderItem -> KeysetCursor.of(orderItem.getId()));
     }
 
     @Operation(summary = "Return an order item by ID")
@@ -70,7 +83,7 @@ public class OrderItemController {
     	})
     @PostMapping
     public ResponseEntity<OrderItem> createOrderItem(@Valid @RequestBody OrderItem orderItem) {
-        OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        OrderItem savedOrderItem = orderService.createOrderItem(orderItem);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedOrderItem);
     }
 
@@ -87,15 +100,7 @@ public class OrderItemController {
     	})
     @PutMapping("/{id}")
     public ResponseEntity<OrderItem> updateOrderItem(@PathVariable Long id, @Valid @RequestBody OrderItem orderItemDetails) {
-        OrderItem orderItem = orderItemRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with id " + id));
-
-        orderItem.setOrder(orderItemDetails.getOrder());
-        orderItem.setProduct(orderItemDetails.getProduct());
-        orderItem.setQuantity(orderItemDetails.getQuantity());
-        orderItem.setUnitPrice(orderItemDetails.getUnitPrice());
-
-        OrderItem updatedOrderItem = orderItemRepository.save(orderItem);
+        OrderItem updatedOrderItem = orderService.updateOrderItem(id, orderItemDetails);
         return ResponseEntity.ok(updatedOrderItem);
     }
 
@@ -112,10 +117,7 @@ public class OrderItemController {
     	})
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrderItem(@PathVariable Long id) {
-        OrderItem orderItem = orderItemRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with id " + id));
-
-        orderItemRepository.delete(orderItem);
+        orderService.deleteOrderItem(id);
         return ResponseEntity.noContent().build();
     }
 }
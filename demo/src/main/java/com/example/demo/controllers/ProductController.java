@@ -1,15 +1,31 @@
 package com.example.demo.controllers;
 import io.swagger.v3.oas.annotations.media.Content;
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.cache.CacheInvalidationService;
+import com.example.demo.dto.MultiGetResponse;
+import com.example.demo.dto.ProductMatch;
+import com.example.demo.dto.ProductSummary;
 import com.example.demo.entities.Product;
+import com.example.demo.exceptions.InvalidInputException;
 import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.exceptions.SearchIndexNotReadyException;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.pagination.KeysetPagination;
 import com.example.demo.repositories.ProductRepository;
+import com.example.demo.search.ProductSearchIndex;
+import com.example.demo.services.ProductCatalogCache;
+import com.example.demo.web.EntityTags;
+import com.example.demo.web.FieldSets;
+import com.example.demo.web.MultiGet;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +39,24 @@ public class ProductController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private MultiGet multiGet;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Value("${search.products.max-limit:100}")
+    private int maxSearchLimit;
+
     @Operation(summary = "Return a list of all products")
     @ApiResponses(value = {
     	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
@@ -35,8 +69,82 @@ public class ProductController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ResponseEntity<List<Product>> getAllProducts(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String fields) {
+        FieldSets.requireFull(fields);
+        int pageSize = pagination.resolveLimit(limit);
+        long after = cursor == null ? Long.MIN_VALUE : KeysetCursor.decode(cursor).id();
+        List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(after, pagination.window(pageSize));
+        return pagination.respond(products, pageSize, product -> KeysetCursor.of(product.getId()));
+    }
+
+    @Operation(summary = "Return a list of all products with summary fields only")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = { "fields=" + FieldSets.SUMMARY, "!ids" })
+    public ResponseEntity<List<ProductSummary>> getAllProductSummaries(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer limit) {
+        int pageSize = pagination.resolveLimit(limit);
+        long after = cursor == null ? Long.MIN_VALUE : KeysetCursor.decode(cursor).id();
+        List<ProductSummary> products = productRepository.findSummaryPage(after, pagination.window(pageSize));
+        return pagination.respond(products, pageSize, product -> KeysetCursor.of(product.id()));
+    }
+
+    @Operation(summary = "Return many products by ID")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<Product>> getProductsById(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = multiGet.resolveIds(ids);
+        return ResponseEntity.ok(multiGet.respond(distinctIds, productCatalogCache.findAllById(distinctIds).values(), Product::getId));
+    }
+
+    @Operation(summary = "Search products by name and description, ranked by relevance")
+    @ApiResponses(value = {
+    	    @ApiResponse(responseCode = "200", description = "Successfully retrieved"), 
+    	    @ApiResponse(responseCode = "201", description = "Created - The resource was successfully created"),
+    	    @ApiResponse(responseCode = "400", description = "Bad Request - The request could not be understood or was missing required parameters"),
+    	    @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication failed or user does not have permissions for the desired action"),
+    	    @ApiResponse(responseCode = "403", description = "Forbidden - Authentication succeeded but authenticated user does not have access to the resource"),
+    	    @ApiResponse(responseCode = "404", description = "Not Found - The resource was not found"),
+    	    @ApiResponse(responseCode = "500", description = "Internal Server Error - An error occurred on the server"),
+    	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
+    	})
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductMatch>> searchProducts(@RequestParam String q,
+                                                             @RequestParam(required = false) BigDecimal minPrice,
+                                                             @RequestParam(required = false) BigDecimal maxPrice,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            throw new InvalidInputException("q is required");
+        }
+        if (limit < 1 || limit > maxSearchLimit) {
+            throw new InvalidInputException("limit must be between 1 and " + maxSearchLimit);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidInputException("minPrice must not be greater than maxPrice");
+        }
+        if (!productSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("The product search index is still loading, retry shortly");
+        }
+        return ResponseEntity.ok(productSearchIndex.search(q, minPrice, maxPrice, limit));
     }
 
     @Operation(summary = "Return a product by ID")
@@ -51,9 +159,19 @@ public class ProductController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Product> getProductById(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null && productCatalogCache.findCached(id).isEmpty()) {
+            Long version = productRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
+            if (EntityTags.matches(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version)).build();
+            }
+        }
+        return productCatalogCache.findById(id)
+                .map(product -> EntityTags.matches(ifNoneMatch, product.getVersion())
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(product.getVersion())).<Product>build()
+                        : ResponseEntity.ok().eTag(EntityTags.of(product.getVersion())).body(product))
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
     }
 
@@ -71,6 +189,8 @@ public class ProductController {
     @PostMapping
     public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.put(savedProduct);
+        cacheInvalidationService.productChanged(savedProduct.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(savedProduct);
     }
 
@@ -86,16 +206,22 @@ public class ProductController {
     	    @ApiResponse(responseCode = "503", description = "Service Unavailable - The service is not available")
     	})
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @Valid @RequestBody Product productDetails) {
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody Product productDetails) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
+        EntityTags.requireCurrent(ifMatch, productDetails.getVersion(), product.getVersion(), "Product " + id);
 
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
         product.setPrice(productDetails.getPrice());
 
         Product updatedProduct = productRepository.save(product);
-        return ResponseEntity.ok(updatedProduct);
+        productCatalogCache.invalidate(id);
+        productSearchIndex.put(updatedProduct);
+        cacheInvalidationService.productChanged(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedProduct.getVersion())).body(updatedProduct);
     }
 
     @Operation(summary = "Delete a product by ID")
@@ -115,6 +241,9 @@ public class ProductController {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
 
         productRepository.delete(product);
+        productCatalogCache.invalidate(id);
+        productSearchIndex.remove(id);
+        cacheInvalidationService.productChanged(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,25 @@
+package com.example.demo.datasource;
+
+/**
+ * Pins the current thread's reads to the primary, for clients that wrote moments ago and must see
+ * their own changes before the replicas catch up.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
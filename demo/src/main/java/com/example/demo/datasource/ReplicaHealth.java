@@ -0,0 +1,86 @@
+package com.example.demo.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks every replica on its own scheduler thread and keeps the list of replicas that answered
+ * the last check. A replica that fails is taken out of rotation until a later check succeeds.
+ */
+public class ReplicaHealth implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealth.class);
+
+    private final Map<String, DataSource> replicas;
+    private final Set<String> down = ConcurrentHashMap.newKeySet();
+    private final int timeoutSeconds;
+    private volatile List<String> healthy;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealth(Map<String, DataSource> replicas, Duration timeout) {
+        this.replicas = replicas;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        this.healthy = List.copyOf(replicas.keySet());
+    }
+
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void check() {
+        List<String> up = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            if (isValid(dataSource)) {
+                if (down.remove(name)) {
+                    log.info("Replica {} is back in rotation", name);
+                }
+                up.add(name);
+            } else if (down.add(name)) {
+                log.warn("Replica {} failed its health check; reads go elsewhere until it recovers", name);
+            }
+        });
+        healthy = List.copyOf(up);
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy;
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    private boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.datasource;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica, round robin, and everything
+ * else to the primary.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this must be used through
+ * {@link #lazy()}, which defers the lookup to the first statement.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealth replicaHealth;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, LongAdder> connections = new ConcurrentHashMap<>();
+
+    public RoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaHealth replicaHealth) {
+        this.replicaHealth = replicaHealth;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = route();
+        connections.computeIfAbsent(target, key -> new LongAdder()).increment();
+        return target;
+    }
+
+    private String route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        List<String> healthy = replicaHealth.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Wraps this datasource so the target is chosen at the first statement. The connection defaults
+     * are given up front so the proxy never opens a connection just to learn them, which would pick
+     * a target before the transaction is marked read-only.
+     */
+    public DataSource lazy() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(this);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    /** Connections handed out per target since startup. */
+    public long connectionCount(String target) {
+        LongAdder count = connections.get(target);
+        return count == null ? 0 : count.sum();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.datasource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured datasource with a primary plus replicas when
+ * {@code app.datasource.routing.enabled=true}. See {@link RoutingDataSource}.
+ *
+ * <p>Relies on {@code hibernate.connection.handling_mode=DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION}:
+ * with open-in-view the session otherwise keeps the first transaction's connection, and a write
+ * following a read in the same request would go to the replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaHealth replicaHealth(RoutingDataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<RoutingDataSourceProperties.Node> nodes = properties.getReplicas();
+        for (int i = 0; i < nodes.size(); i++) {
+            replicas.put("replica-" + i, pool("replica-" + i, nodes.get(i)));
+        }
+        ReplicaHealth replicaHealth = new ReplicaHealth(replicas, properties.getRouting().getHealthCheckTimeout());
+        replicaHealth.start(properties.getRouting().getHealthCheckInterval());
+        return replicaHealth;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSourceProperties properties, ReplicaHealth replicaHealth, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = replicaHealth.replicas();
+        RoutingDataSource routing = new RoutingDataSource(pool(RoutingDataSource.PRIMARY, properties.getPrimary()), replicas, replicaHealth);
+
+        List<String> targets = new ArrayList<>(replicas.keySet());
+        targets.add(RoutingDataSource.PRIMARY);
+        for (String target : targets) {
+            FunctionCounter.builder("datasource.routing.connections", routing, source -> source.connectionCount(target))
+                    .description("Connections handed out by the routing datasource")
+                    .tag("target", target)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("datasource.replicas.healthy", replicaHealth, health -> health.healthyReplicas().size())
+                .register(meterRegistry);
+
+        return routing.lazy();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(RoutingDataSourceProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getRouting().getReadYourWrites()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static HikariDataSource pool(String name, RoutingDataSourceProperties.Node node) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .driverClassName(node.getDriverClassName())
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        return dataSource;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code app.datasource.*}: the primary, any number of replicas and the routing settings.
+ */
+@ConfigurationProperties("app.datasource")
+public class RoutingDataSourceProperties {
+
+    private Node primary = new Node();
+    private List<Node> replicas = new ArrayList<>();
+    private Routing routing = new Routing();
+
+    public Node getPrimary() {
+        return primary;
+    }
+
+    public void setPrimary(Node primary) {
+        this.primary = primary;
+    }
+
+    public List<Node> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Node> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    public void setRouting(Routing routing) {
+        this.routing = routing;
+    }
+
+    public static class Node {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+
+    public static class Routing {
+
+        private boolean enabled;
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        private Duration healthCheckTimeout = Duration.ofSeconds(2);
+        private Duration readYourWrites = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public Duration getHealthCheckTimeout() {
+            return healthCheckTimeout;
+        }
+
+        public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+            this.healthCheckTimeout = healthCheckTimeout;
+        }
+
+        public Duration getReadYourWrites() {
+            return readYourWrites;
+        }
+
+        public void setReadYourWrites(Duration readYourWrites) {
+            this.readYourWrites = readYourWrites;
+        }
+    }
+}
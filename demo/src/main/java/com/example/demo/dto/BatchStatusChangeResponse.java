@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import com.example.demo.entities.OrderStatus;
+
+public record BatchStatusChangeResponse(OrderStatus status, List<OrderStatusChange> updated, List<Rejected> rejected) {
+
+    public enum Reason {
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        CONFLICT
+    }
+
+    public record Rejected(Long id, Reason reason) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public record BulkOrderResponse(int created, int failed, List<BulkOrderResult> results) {
+
+    public static BulkOrderResponse of(List<BulkOrderResult> results) {
+        int created = (int) results.stream().filter(result -> result.status() == BulkOrderResult.Status.CREATED).count();
+        return new BulkOrderResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+public record BulkOrderResult(int index, Long id, Status status, String error) {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    public static BulkOrderResult created(int index, Long id) {
+        return new BulkOrderResult(index, id, Status.CREATED, null);
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        return new BulkOrderResult(index, null, Status.FAILED, error);
+    }
+}
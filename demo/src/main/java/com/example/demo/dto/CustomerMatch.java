@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+/**
+ * Customer search hit. Only the fields agents search on are returned.
+ */
+public record CustomerMatch(Long id, String name, String email, String phone) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+/**
+ * {@code fields=summary} view of a customer.
+ */
+public record CustomerSummary(Long id, String name, Long version) {
+}
@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Result of an {@code ids=} lookup: the entities found, in the order their ids were requested, and
+ * the requested ids that don't exist.
+ */
+public record MultiGetResponse<T>(List<T> items, List<Long> missing) {
+}
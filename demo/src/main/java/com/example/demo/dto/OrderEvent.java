@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * An order event as handed to outbox sinks. {@code id} is unique per event, so consumers can drop
+ * the duplicates that at-least-once delivery produces.
+ */
+public record OrderEvent(long id, OrderEventType type, long orderId, LocalDateTime occurredAt, @JsonRawValue String payload) {
+
+    public static OrderEvent of(OutboxEvent event) {
+        return new OrderEvent(event.getId(), event.getEventType(), event.getOrderId(), event.getCreatedAt(), event.getPayload());
+    }
+}
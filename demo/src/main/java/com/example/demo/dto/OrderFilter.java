@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entities.OrderStatus;
+
+/**
+ * Optional filters of GET /order; null fields don't filter. {@code from} is inclusive and {@code to}
+ * exclusive.
+ */
+public record OrderFilter(OrderStatus status, Long customerId, LocalDateTime from, LocalDateTime to) {
+
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.example.demo.entities.OrderStatus;
+
+/**
+ * Orders per status as held in memory by this instance. {@code syncedAt} is the last time the counts
+ * were reloaded from Orders; writes made through other instances show up after the next reload.
+ */
+public record OrderStatusCounts(Map<OrderStatus, Long> counts, long total, Instant syncedAt) {
+}
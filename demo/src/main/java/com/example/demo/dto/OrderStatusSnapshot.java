@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+import com.example.demo.entities.OrderStatus;
+
+public record OrderStatusSnapshot(Long id, OrderStatus status, Long version) {
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.demo.entities.OrderStatus;
+
+/**
+ * {@code fields=summary} view of an order: read from Orders alone, without the customer or items.
+ */
+public record OrderSummary(Long id, Long customerId, OrderStatus status, LocalDateTime orderDate, BigDecimal total, Long version) {
+}
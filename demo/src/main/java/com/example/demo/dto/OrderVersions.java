@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+
+/**
+ * Versions of everything {@code GET /order/{id}} serializes: the order, its customer, and the sum of
+ * the item products' versions. Item writes bump the order's version, and versions only grow, so
+ * any change to the body changes at least one of the three.
+ */
+public record OrderVersions(Long order, Long customer, Long products) {
+
+    /** The same versions, read from an order whose customer and item products are loaded. */
+    public static OrderVersions of(Order order) {
+        long products = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            products += item.getProduct().getVersion();
+        }
+        return new OrderVersions(order.getVersion(), order.getCustomer().getVersion(), products);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+public record ProductMatch(long id, String name, String description, BigDecimal price, double score) {
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code fields=summary} view of a product: everything but the description.
+ */
+public record ProductSummary(Long id, String name, BigDecimal price, Long version) {
+}
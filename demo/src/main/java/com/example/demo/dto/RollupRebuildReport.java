@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+/**
+ * Result of recomputing the sales rollups. The mismatch counts are rows that were missing, extra or
+ * different before the rebuild replaced them; anything other than zero points at a write path that
+ * bypasses the rollups.
+ */
+public record RollupRebuildReport(int productDayRows, int productDayMismatches,
+                                  int customerMonthRows, int customerMonthMismatches) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+/**
+ * {@code version} is optional; when present the change only applies to that version of the order.
+ */
+public record StatusChangeRequest(String status, Long version) {
+}
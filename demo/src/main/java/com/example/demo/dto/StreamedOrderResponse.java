@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.demo.entities.OrderStatus;
+
+/**
+ * Order created by {@code POST /order/stream}. The items are not echoed back; {@code itemCount} says
+ * how many were stored.
+ */
+public record StreamedOrderResponse(Long id, Long customerId, OrderStatus status, LocalDateTime orderDate,
+        BigDecimal total, int itemCount, Long version) {
+}
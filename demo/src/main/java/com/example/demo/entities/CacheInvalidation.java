@@ -0,0 +1,67 @@
+package com.example.demo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * A customer or product written by one API instance, for the others to evict from their caches.
+ */
+@Entity
+@Table(name = "CacheInvalidations", indexes = {
+        @Index(name = "IX_CacheInvalidations_CreatedAt", columnList = "CreatedAt")
+})
+public class CacheInvalidation {
+
+    public enum Type {
+        CUSTOMER,
+        PRODUCT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidations_seq")
+    @SequenceGenerator(name = "cache_invalidations_seq", sequenceName = "CacheInvalidations_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EntityType", nullable = false, length = 20)
+    private Type entityType;
+
+    @Column(name = "EntityID", nullable = false)
+    private Long entityId;
+
+    @Column(name = "Origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected CacheInvalidation() {}
+
+    public CacheInvalidation(Type entityType, Long entityId, String origin, LocalDateTime createdAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.origin = origin;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Type getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.demo.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.demo.cache.SecondLevelCacheConfiguration;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.CUSTOMERS)
 @Table(name = "Customer")
 public class Customer {
     @Id
@@ -21,9 +29,14 @@ public class Customer {
     @Column(length = 100)
     private String email;
 
+    // Accepted on create and update, never written back out.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(length = 100)
     private String password;
 
+    @Version
+    private Long version;
+
 
     public Long getId() {
         return id;
@@ -72,4 +85,12 @@ public class Customer {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
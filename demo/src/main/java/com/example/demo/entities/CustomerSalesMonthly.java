@@ -0,0 +1,82 @@
+package com.example.demo.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+/**
+ * {@code salesMonth} is always the first day of the month.
+ */
+@Entity
+@Table(name = "CustomerSalesMonthly")
+@IdClass(CustomerSalesMonthly.Key.class)
+public class CustomerSalesMonthly {
+
+    @Id
+    @Column(name = "CustomerID")
+    private Long customerId;
+
+    @Id
+    @Column(name = "SalesMonth")
+    private LocalDate salesMonth;
+
+    @Column(name = "OrderCount", nullable = false)
+    private long orderCount;
+
+    @Column(name = "Revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    protected CustomerSalesMonthly() {}
+
+    public CustomerSalesMonthly(Long customerId, LocalDate salesMonth, long orderCount, BigDecimal revenue) {
+        this.customerId = customerId;
+        this.salesMonth = salesMonth;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDate getSalesMonth() {
+        return salesMonth;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long customerId;
+        private LocalDate salesMonth;
+
+        public Key() {}
+
+        public Key(Long customerId, LocalDate salesMonth) {
+            this.customerId = customerId;
+            this.salesMonth = salesMonth;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && Objects.equals(customerId, key.customerId)
+                    && Objects.equals(salesMonth, key.salesMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(customerId, salesMonth);
+        }
+    }
+}
@@ -7,11 +7,16 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 @Entity
-@Table(name = "Orders")
+@Table(name = "Orders", indexes = {
+        @Index(name = "IX_Orders_OrderDate_Id", columnList = "OrderDate DESC, id DESC"),
+        @Index(name = "IX_Orders_Status_OrderDate_Id", columnList = "Status, OrderDate DESC, id DESC"),
+        @Index(name = "IX_Orders_CustomerID_OrderDate_Id", columnList = "CustomerID, OrderDate DESC, id DESC")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "Orders_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -24,13 +29,18 @@ public class Order {
     @Column(name = "Total", nullable = false)
     private BigDecimal total;
 
+    @Enumerated(EnumType.STRING)
     @Column(name = "Status", nullable = false, length = 50)
-    private String status;
+    private OrderStatus status;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<OrderItem> orderItems;
 
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -63,11 +73,11 @@ public class Order {
         this.total = total;
     }
 
-    public String getStatus() {
+    public OrderStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
@@ -78,4 +88,12 @@ public class Order {
     public void setOrderItems(List<OrderItem> orderItems) {
         this.orderItems = orderItems;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
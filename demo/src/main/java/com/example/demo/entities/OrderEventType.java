@@ -0,0 +1,11 @@
+package com.example.demo.entities;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_UPDATED,
+    ORDER_DELETED,
+    ORDER_STATUS_CHANGED,
+    ORDER_ITEM_ADDED,
+    ORDER_ITEM_UPDATED,
+    ORDER_ITEM_REMOVED
+}
@@ -11,7 +11,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "OrderItems_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -37,6 +38,17 @@ public class OrderItem {
     public Long getOrderId() {
         return this.order != null ? this.order.getId() : null;
     }
+
+    @JsonProperty("OrderId")
+    public void setOrderId(Long orderId) {
+        if (orderId == null) {
+            this.order = null;
+            return;
+        }
+        Order reference = new Order();
+        reference.setId(orderId);
+        this.order = reference;
+    }
     
     
     public void setId(Long id) {
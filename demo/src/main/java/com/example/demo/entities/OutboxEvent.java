@@ -0,0 +1,77 @@
+package com.example.demo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * An order lifecycle event written in the same transaction as the change it describes and
+ * published later by {@code OutboxDispatcher}, in id order.
+ */
+@Entity
+@Table(name = "OutboxEvents", indexes = {
+        @Index(name = "IX_OutboxEvents_Unpublished", columnList = "PublishedAt, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "OutboxEvents_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "OrderID", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EventType", nullable = false, length = 50)
+    private OrderEventType eventType;
+
+    @Column(name = "Payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "PublishedAt")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "Attempts", nullable = false)
+    private int attempts;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(Long orderId, OrderEventType eventType, String payload, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderEventType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
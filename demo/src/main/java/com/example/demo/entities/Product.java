@@ -2,9 +2,16 @@ package com.example.demo.entities;
 
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.demo.cache.SecondLevelCacheConfiguration;
+
 import jakarta.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.PRODUCTS)
 @Table(name = "Product")
 public class Product {
     @Id
@@ -20,6 +27,9 @@ public class Product {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    @Version
+    private Long version;
+
     public Product() {}
 
     public Product(Long id, String name, String description, BigDecimal price) {
@@ -60,4 +70,12 @@ public class Product {
     public void setPrice(BigDecimal price) {
         this.price = price;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.demo.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "ProductSalesDaily")
+@IdClass(ProductSalesDaily.Key.class)
+public class ProductSalesDaily {
+
+    @Id
+    @Column(name = "ProductID")
+    private Long productId;
+
+    @Id
+    @Column(name = "SalesDate")
+    private LocalDate salesDate;
+
+    @Column(name = "Quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "Revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    protected ProductSalesDaily() {}
+
+    public ProductSalesDaily(Long productId, LocalDate salesDate, long quantity, BigDecimal revenue) {
+        this.productId = productId;
+        this.salesDate = salesDate;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long productId;
+        private LocalDate salesDate;
+
+        public Key() {}
+
+        public Key(Long productId, LocalDate salesDate) {
+            this.productId = productId;
+            this.salesDate = salesDate;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && Objects.equals(productId, key.productId)
+                    && Objects.equals(salesDate, key.salesDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, salesDate);
+        }
+    }
+}
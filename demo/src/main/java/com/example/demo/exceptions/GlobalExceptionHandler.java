@@ -1,20 +1,97 @@
 package com.example.demo.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<?> resourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        count(ex, HttpStatus.NOT_FOUND);
         ErrorDetails errorDetails = new ErrorDetails(HttpStatus.NOT_FOUND.value(), ex.getMessage(), request.getDescription(false));
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidInputException.class)
+    public ResponseEntity<?> invalidInputException(InvalidInputException ex, WebRequest request) {
+        count(ex, HttpStatus.BAD_REQUEST);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> preconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        count(ex, HttpStatus.PRECONDITION_FAILED);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.PRECONDITION_FAILED.value(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<?> invalidStatusTransitionException(InvalidStatusTransitionException ex, WebRequest request) {
+        count(ex, HttpStatus.CONFLICT);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.CONFLICT.value(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> optimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        count(ex, HttpStatus.CONFLICT);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.CONFLICT.value(), "The resource was modified concurrently, reload and retry", request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<?> cannotCreateTransactionException(CannotCreateTransactionException ex, WebRequest request) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.SERVICE_UNAVAILABLE.value(), "No database connection available", request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<?> serviceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<?> searchIndexNotReadyException(SearchIndexNotReadyException ex, WebRequest request) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        ErrorDetails errorDetails = new ErrorDetails(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorDetails);
+    }
+
+    private void count(Exception ex, HttpStatus status) {
+        Counter.builder("api.exceptions")
+                .description("Exceptions mapped to an error response by GlobalExceptionHandler")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
+
     public static class ErrorDetails {
         private int statusCode;
         private String message;
@@ -0,0 +1,9 @@
+package com.example.demo.exceptions;
+
+public class SearchIndexNotReadyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SearchIndexNotReadyException(String message) {
+        super(message);
+    }
+}
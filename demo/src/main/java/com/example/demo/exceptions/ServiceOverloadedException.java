@@ -0,0 +1,9 @@
+package com.example.demo.exceptions;
+
+public class ServiceOverloadedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.outbox;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.OrderEvent;
+
+/**
+ * Publishes every event as a Spring application event, for {@code @EventListener} methods taking an
+ * {@link OrderEvent}. Listeners run on the dispatcher thread, after the change has committed.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.OrderEvent;
+
+@Component
+public class OrderEventLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventLogger.class);
+
+    @EventListener
+    public void on(OrderEvent event) {
+        log.debug("Order {} {} (event {}): {}", event.orderId(), event.type(), event.id(), event.payload());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.OrderEvent;
+import com.example.demo.entities.OutboxEvent;
+import com.example.demo.repositories.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes outbox events to every {@link OutboxSink} in batches, in outbox id order.
+ *
+ * <p>A batch is locked, published and marked in one transaction. When a sink fails, the batch stays
+ * unpublished and dispatching stops until the next tick, so later events of the same order are never
+ * delivered ahead of earlier ones. Delivery is at least once: a batch that failed on one sink is sent
+ * again to all of them.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatch.enabled", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transaction;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer deliveryDelay;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, PlatformTransactionManager transactionManager,
+            List<OutboxSink> sinks, MeterRegistry meterRegistry,
+            @Value("${outbox.dispatch.batch-size:100}") int batchSize,
+            @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.retention = retention;
+
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.dispatch.failures").register(meterRegistry);
+        this.deliveryDelay = Timer.builder("outbox.delivery.delay")
+                .description("Time from recording an event to publishing it")
+                .register(meterRegistry);
+    }
+
+    /** Publishes full batches until the outbox is drained or a sink fails. */
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:1000}")
+    public void dispatch() {
+        try {
+            Integer count;
+            do {
+                count = transaction.execute(status -> dispatchBatch());
+            } while (count != null && count == batchSize);
+        } finally {
+            refreshLag();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}", initialDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = transaction.execute(status -> outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Purged {} published outbox events older than {}", deleted, retention);
+    }
+
+    /** Returns the number of events published, or -1 when a sink failed. */
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        List<OrderEvent> events = batch.stream().map(OrderEvent::of).toList();
+        try {
+            for (OutboxSink sink : sinks) {
+                sink.publish(events);
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            outboxEventRepository.countAttempt(ids);
+            log.warn("Publishing outbox events {}..{} failed; retrying on the next dispatch", ids.get(0), ids.get(ids.size() - 1), e);
+            return -1;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markPublished(ids, now);
+        published.increment(batch.size());
+        batch.forEach(event -> deliveryDelay.record(Duration.between(event.getCreatedAt(), now)));
+        return batch.size();
+    }
+
+    private void refreshLag() {
+        pending.set(outboxEventRepository.countByPublishedAtIsNull());
+        lagSeconds.set(outboxEventRepository.findOldestUnpublished()
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()))
+                .orElse(0L));
+    }
+}
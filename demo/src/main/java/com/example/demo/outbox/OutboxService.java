@@ -0,0 +1,67 @@
+package com.example.demo.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.OutboxEvent;
+import com.example.demo.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records order events in the outbox. Callers must already run in the transaction that makes the
+ * change, so an event is stored if and only if the change commits.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    // Payloads are small summaries, not the API representation, so they don't follow API-level Jackson settings.
+    private static final ObjectMapper PAYLOADS = Jackson2ObjectMapperBuilder.json().build();
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    public void orderChanged(OrderEventType type, Order order) {
+        orderChanged(type, order, order.getOrderItems() == null ? 0 : order.getOrderItems().size());
+    }
+
+    /** For orders whose items were persisted without being held in {@code order.getOrderItems()}. */
+    public void orderChanged(OrderEventType type, Order order, int itemCount) {
+        record(type, order.getId(), new OrderPayload(order.getId(), order.getCustomer().getId(), order.getStatus(),
+                order.getTotal(), order.getOrderDate(), itemCount));
+    }
+
+    public void itemChanged(OrderEventType type, OrderItem item) {
+        record(type, item.getOrder().getId(), new ItemPayload(item.getOrder().getId(), item.getId(),
+                item.getProduct().getId(), item.getQuantity(), item.getUnitPrice()));
+    }
+
+    public void statusChanged(Long orderId, OrderStatus from, OrderStatus to, long version) {
+        record(OrderEventType.ORDER_STATUS_CHANGED, orderId, new StatusPayload(orderId, from, to, version));
+    }
+
+    private void record(OrderEventType type, Long orderId, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(orderId, type, PAYLOADS.writeValueAsString(payload), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " payload for order " + orderId, e);
+        }
+    }
+
+    private record OrderPayload(Long orderId, Long customerId, OrderStatus status, BigDecimal total, LocalDateTime orderDate, int itemCount) {}
+
+    private record ItemPayload(Long orderId, Long itemId, Long productId, int quantity, BigDecimal unitPrice) {}
+
+    private record StatusPayload(Long orderId, OrderStatus from, OrderStatus to, long version) {}
+}
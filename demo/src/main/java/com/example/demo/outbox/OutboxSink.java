@@ -0,0 +1,14 @@
+package com.example.demo.outbox;
+
+import java.util.List;
+
+import com.example.demo.dto.OrderEvent;
+
+/**
+ * Destination for outbox events. A batch holds events in outbox order; a sink that throws gets the
+ * whole batch again on the next dispatch, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OrderEvent> events);
+}
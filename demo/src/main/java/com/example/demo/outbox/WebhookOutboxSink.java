@@ -0,0 +1,56 @@
+package com.example.demo.outbox;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.example.demo.dto.OrderEvent;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * POSTs each batch as a JSON array to {@code outbox.webhook.url}. Any non-2xx response or I/O error
+ * fails the batch, which is then retried as a whole. Events are written with a mapper of their own,
+ * with ISO-8601 dates as in API responses, so the wire format does not depend on the injected builder.
+ */
+@Component
+@ConditionalOnProperty("outbox.webhook.url")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    public WebhookOutboxSink(RestClient.Builder builder,
+            @Value("${outbox.webhook.url}") String url,
+            @Value("${outbox.webhook.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${outbox.webhook.read-timeout:5s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        this.restClient = builder.baseUrl(url)
+                .requestFactory(requestFactory)
+                .messageConverters(converters -> {
+                    converters.removeIf(converter -> converter instanceof MappingJackson2HttpMessageConverter);
+                    converters.add(json);
+                })
+                .build();
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
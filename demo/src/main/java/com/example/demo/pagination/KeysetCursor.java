@@ -0,0 +1,51 @@
+package com.example.demo.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.demo.exceptions.InvalidInputException;
+
+/**
+ * Opaque seek position handed to clients as the {@code cursor} of the next page.
+ * Entities paged by id only leave {@code orderDate} empty.
+ */
+public record KeysetCursor(LocalDateTime orderDate, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(Long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public static KeysetCursor of(LocalDateTime orderDate, Long id) {
+        return new KeysetCursor(orderDate, id);
+    }
+
+    public String encode() {
+        String raw = orderDate == null ? String.valueOf(id) : orderDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return of(Long.valueOf(raw));
+            }
+            return of(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidInputException("Invalid cursor " + token);
+        }
+    }
+
+    public static KeysetCursor decodeDated(String token) {
+        KeysetCursor cursor = decode(token);
+        if (cursor.orderDate() == null) {
+            throw new InvalidInputException("Invalid cursor " + token);
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.example.demo.exceptions.InvalidInputException;
+
+@Component
+public class KeysetPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public KeysetPagination(@Value("${api.pagination.default-limit:50}") int defaultLimit,
+                            @Value("${api.pagination.max-limit:1000}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw new InvalidInputException("limit must be greater than 0");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    /**
+     * Fetches one row past the page so we know whether a next page exists without a count query.
+     */
+    public Pageable window(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public <T> ResponseEntity<List<T>> respond(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok(rows);
+        }
+
+        List<T> page = new ArrayList<>(rows.subList(0, limit));
+        String next = cursorOf.apply(page.get(limit - 1)).encode();
+        String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", next)
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"")
+                .header(NEXT_CURSOR_HEADER, next)
+                .body(page);
+    }
+}
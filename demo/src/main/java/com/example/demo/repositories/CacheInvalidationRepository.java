@@ -0,0 +1,22 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entities.CacheInvalidation;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    List<CacheInvalidation> findByCreatedAtAfterAndOriginNotOrderByIdAsc(LocalDateTime after, String origin);
+
+    @Modifying
+    @Query("delete from CacheInvalidation i where i.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
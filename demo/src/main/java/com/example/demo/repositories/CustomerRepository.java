@@ -1,10 +1,31 @@
 package com.example.demo.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.CustomerSummary;
 import com.example.demo.entities.Customer;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-}
\ No newline at end of file
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select new com.example.demo.dto.CustomerSummary(c.id, c.name, c.version) from Customer c where c.id > :id order by c.id")
+    List<CustomerSummary> findSummaryPage(@Param("id") Long id, Pageable pageable);
+
+    // Backs If-None-Match checks; cached until the row is written here or on another instance.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c.version from Customer c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,15 @@
+package com.example.demo.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.example.demo.entities.Customer;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Like {@code findAllById}, but customers held in the second-level cache are taken from there and
+     * only the rest are queried, in one statement. Missing customers are left out.
+     */
+    List<Customer> loadAllById(Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entities.Customer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> loadAllById(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class).byMultipleIds(Customer.class)
+                .multiLoad(new ArrayList<>(ids)).stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
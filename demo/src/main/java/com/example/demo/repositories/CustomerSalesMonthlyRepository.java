@@ -0,0 +1,27 @@
+package com.example.demo.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entities.CustomerSalesMonthly;
+
+@Repository
+public interface CustomerSalesMonthlyRepository extends JpaRepository<CustomerSalesMonthly, CustomerSalesMonthly.Key> {
+
+    @Modifying
+    @Query("update CustomerSalesMonthly r set r.orderCount = r.orderCount + :orderCount, r.revenue = r.revenue + :revenue "
+            + "where r.customerId = :customerId and r.salesMonth = :salesMonth")
+    int increment(@Param("customerId") Long customerId, @Param("salesMonth") LocalDate salesMonth,
+                  @Param("orderCount") long orderCount, @Param("revenue") BigDecimal revenue);
+
+    List<CustomerSalesMonthly> findBySalesMonthBetweenOrderBySalesMonthAscCustomerIdAsc(LocalDate from, LocalDate to);
+
+    List<CustomerSalesMonthly> findByCustomerIdAndSalesMonthBetweenOrderBySalesMonthAsc(Long customerId, LocalDate from, LocalDate to);
+}
@@ -1,5 +1,9 @@
 package com.example.demo.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.example.demo.entities.OrderItem;
@@ -7,4 +11,6 @@ import com.example.demo.entities.OrderItem;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long>  {
 
+    @EntityGraph(attributePaths = { "order", "order.customer", "product" })
+    List<OrderItem> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,9 +1,61 @@
 package com.example.demo.repositories;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.demo.dto.OrderStatusSnapshot;
+import com.example.demo.dto.OrderVersions;
 import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface OrderRepository  extends JpaRepository<Order, Long>  {
+public interface OrderRepository  extends JpaRepository<Order, Long>, OrderRepositoryCustom  {
+
+    @Query("select distinct o from Order o "
+            + "left join fetch o.orderItems i left join fetch i.product "
+            + "where o.id in :ids")
+    List<Order> fetchItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = { "customer", "orderItems", "orderItems.product" })
+    Optional<Order> findWithItemsById(Long id);
+
+    @Query("select o from Order o order by o.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Order> streamAllBy();
+
+    @Query("select new com.example.demo.dto.OrderVersions(o.version, c.version, coalesce(sum(p.version), 0L)) "
+            + "from Order o join o.customer c left join o.orderItems i left join i.product p "
+            + "where o.id = :id group by o.version, c.version")
+    Optional<OrderVersions> findVersionsById(@Param("id") Long id);
+
+    @Query("select new com.example.demo.dto.OrderStatusSnapshot(o.id, o.status, o.version) from Order o where o.id = :id")
+    Optional<OrderStatusSnapshot> findStatusById(@Param("id") Long id);
+
+    @Query("select new com.example.demo.dto.OrderStatusSnapshot(o.id, o.status, o.version) from Order o where o.id in :ids")
+    List<OrderStatusSnapshot> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.version = o.version + 1 where o.id = :id and o.version = :version")
+    int updateStatus(@Param("id") Long id, @Param("version") Long version, @Param("status") OrderStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.version = o.version + 1 where o.id in :ids and o.status = :from")
+    int updateStatusFrom(@Param("ids") Collection<Long> ids, @Param("from") OrderStatus from, @Param("status") OrderStatus status);
 
+    @Query("select o.status, count(o) from Order o group by o.status")
+    List<Object[]> countByStatus();
 }
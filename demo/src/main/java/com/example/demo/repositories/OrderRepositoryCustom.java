@@ -0,0 +1,24 @@
+package com.example.demo.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.example.demo.dto.OrderFilter;
+import com.example.demo.dto.OrderSummary;
+import com.example.demo.entities.Order;
+import com.example.demo.pagination.KeysetCursor;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * One keyset page of orders matching the filter, newest first, with customers fetched. Only the
+     * page size of {@code window} is used.
+     */
+    List<Order> findPage(OrderFilter filter, KeysetCursor after, Pageable window);
+
+    /**
+     * The same page as {@link #findPage}, selecting only the {@link OrderSummary} columns of Orders.
+     */
+    List<OrderSummary> findSummaryPage(OrderFilter filter, KeysetCursor after, Pageable window);
+}
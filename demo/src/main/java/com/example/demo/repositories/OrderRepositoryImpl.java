@@ -0,0 +1,85 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import com.example.demo.dto.OrderFilter;
+import com.example.demo.dto.OrderSummary;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.pagination.KeysetCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Builds the GET /order query from the filters that are present, so each combination becomes a plain
+ * conjunction SQL Server can match to IX_Orders_Status_OrderDate_Id or IX_Orders_CustomerID_OrderDate_Id
+ * (or IX_Orders_OrderDate_Id without filters) and read in index order.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Order> findPage(OrderFilter filter, KeysetCursor after, Pageable window) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = cb.createQuery(Order.class);
+        Root<Order> order = query.from(Order.class);
+        order.fetch("customer");
+        query.select(order);
+        return page(cb, query, order, filter, after, window);
+    }
+
+    @Override
+    public List<OrderSummary> findSummaryPage(OrderFilter filter, KeysetCursor after, Pageable window) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<Order> order = query.from(Order.class);
+        // customer.id is the CustomerID column of Orders, so no join is added.
+        query.select(cb.construct(OrderSummary.class, order.get("id"), order.get("customer").get("id"),
+                order.get("status"), order.get("orderDate"), order.get("total"), order.get("version")));
+        return page(cb, query, order, filter, after, window);
+    }
+
+    private <T> List<T> page(CriteriaBuilder cb, CriteriaQuery<T> query, Root<Order> order,
+                             OrderFilter filter, KeysetCursor after, Pageable window) {
+        Path<LocalDateTime> orderDate = order.get("orderDate");
+        Path<Long> id = order.get("id");
+        Path<OrderStatus> status = order.get("status");
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.status() != null) {
+            where.add(cb.equal(status, filter.status()));
+        }
+        if (filter.customerId() != null) {
+            where.add(cb.equal(order.get("customer").get("id"), filter.customerId()));
+        }
+        if (filter.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(orderDate, filter.from()));
+        }
+        if (filter.to() != null) {
+            where.add(cb.lessThan(orderDate, filter.to()));
+        }
+        if (after != null) {
+            where.add(cb.or(
+                    cb.lessThan(orderDate, after.orderDate()),
+                    cb.and(cb.equal(orderDate, after.orderDate()), cb.lessThan(id, after.id()))));
+        }
+
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(orderDate), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(window.getPageSize())
+                .getResultList();
+    }
+}
@@ -1,11 +1,31 @@
 package com.example.demo.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.ProductSummary;
 import com.example.demo.entities.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>{
 
-}
\ No newline at end of file
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select new com.example.demo.dto.ProductSummary(p.id, p.name, p.price, p.version) from Product p where p.id > :id order by p.id")
+    List<ProductSummary> findSummaryPage(@Param("id") Long id, Pageable pageable);
+
+    // Backs If-None-Match checks; cached until the row is written here or on another instance.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,27 @@
+package com.example.demo.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entities.ProductSalesDaily;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, ProductSalesDaily.Key> {
+
+    @Modifying
+    @Query("update ProductSalesDaily r set r.quantity = r.quantity + :quantity, r.revenue = r.revenue + :revenue "
+            + "where r.productId = :productId and r.salesDate = :salesDate")
+    int increment(@Param("productId") Long productId, @Param("salesDate") LocalDate salesDate,
+                  @Param("quantity") long quantity, @Param("revenue") BigDecimal revenue);
+
+    List<ProductSalesDaily> findBySalesDateBetweenOrderBySalesDateAscProductIdAsc(LocalDate from, LocalDate to);
+
+    List<ProductSalesDaily> findByProductIdAndSalesDateBetweenOrderBySalesDateAsc(Long productId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,226 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.CustomerMatch;
+import com.example.demo.entities.Customer;
+
+/**
+ * Trigram index over customer name, email and phone for type-ahead search.
+ *
+ * <p>Each token is indexed with two leading boundary characters, which makes one- and two-character
+ * queries token-prefix lookups and longer ones substring lookups. Candidates are re-checked against
+ * the normalized fields, so trigram false positives never reach the caller.
+ */
+@Component
+public class CustomerSearchIndex extends SearchIndex<Customer, CustomerSearchIndex.Document> {
+
+    private static final char BOUNDARY = '\u0002';
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s()+.-]+");
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::nameLength).reversed())
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final int maxCandidates;
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public CustomerSearchIndex(@Value("${search.customers.max-candidates:20000}") int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Returns up to {@code limit} customers matching every word of the query, best first: exact field
+     * matches, then field and token prefixes, then substrings. At most {@code maxCandidates} matching
+     * customers are ranked, which bounds the cost of very unselective queries.
+     */
+    public List<CustomerMatch> search(String query, int limit) {
+        List<String> words = queryWords(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        return read(() -> {
+            List<Postings> lists = new ArrayList<>();
+            for (String word : words) {
+                for (long gram : queryGrams(word)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING);
+            Postings driver = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            int ranked = 0;
+            for (int i = 0; i < driver.size() && ranked < maxCandidates; i++) {
+                int slot = driver.slot(i);
+                if (!containedInAll(lists, cursors, slot)) {
+                    continue;
+                }
+                Document document = documentAt(slot);
+                if (document == null) {
+                    continue;
+                }
+                int score = document.score(words);
+                if (score < 0) {
+                    continue;
+                }
+                ranked++;
+                top.offer(new Hit(score, document.match().name() == null ? 0 : document.match().name().length(),
+                        document.match().id(), document.match()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING.reversed());
+            return hits.stream().map(Hit::match).toList();
+        });
+    }
+
+    @Override
+    protected Document document(Customer customer) {
+        return Document.of(customer);
+    }
+
+    @Override
+    protected void index(int slot, Document document) {
+        for (long gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> Postings.ofSlots()).add(slot);
+        }
+    }
+
+    @Override
+    protected void clearPostings() {
+        postings.clear();
+    }
+
+    private static boolean containedInAll(List<Postings> lists, int[] cursors, int slot) {
+        for (int i = 1; i < lists.size(); i++) {
+            Postings list = lists.get(i);
+            cursors[i] = list.seek(cursors[i], slot);
+            if (!list.holds(cursors[i], slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> queryWords(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (PHONE_QUERY.matcher(query.trim()).matches()) {
+            String digits = TextNormalizer.digits(query);
+            if (digits.length() >= 3) {
+                return List.of(digits);
+            }
+        }
+        return TextNormalizer.tokens(query);
+    }
+
+    private static long[] queryGrams(String word) {
+        if (word.length() == 1) {
+            return new long[] { gram(BOUNDARY, BOUNDARY, word.charAt(0)) };
+        }
+        if (word.length() == 2) {
+            return new long[] { gram(BOUNDARY, word.charAt(0), word.charAt(1)) };
+        }
+        long[] grams = new long[word.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(word.charAt(i), word.charAt(i + 1), word.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private record Hit(int score, int nameLength, long id, CustomerMatch match) {}
+
+    /** Normalized, space-separated fields; the phone keeps its digits only. */
+    record Document(CustomerMatch match, Long version, String name, String email, String phone) implements SearchIndex.Document {
+
+        static Document of(Customer customer) {
+            return new Document(
+                    new CustomerMatch(customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone()),
+                    customer.getVersion(),
+                    TextNormalizer.normalize(customer.getName()),
+                    TextNormalizer.normalize(customer.getEmail()),
+                    TextNormalizer.digits(customer.getPhone()));
+        }
+
+        @Override
+        public long id() {
+            return match.id();
+        }
+
+        long[] grams() {
+            Set<Long> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(email, grams);
+            addGrams(phone, grams);
+            return grams.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        private static void addGrams(String field, Set<Long> grams) {
+            if (field.isEmpty()) {
+                return;
+            }
+            for (String token : field.split(" ")) {
+                char previous = BOUNDARY;
+                char current = BOUNDARY;
+                for (int i = 0; i < token.length(); i++) {
+                    char next = token.charAt(i);
+                    grams.add(gram(previous, current, next));
+                    previous = current;
+                    current = next;
+                }
+            }
+        }
+
+        /** Sum of the best per-word match across fields, or -1 when a word matches no field. */
+        int score(List<String> words) {
+            int total = 0;
+            for (String word : words) {
+                int best = Math.max(score(name, word), Math.max(score(email, word), score(phone, word)));
+                if (best == 0) {
+                    return -1;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int score(String field, String word) {
+            if (field.equals(word)) {
+                return 4;
+            }
+            if (field.startsWith(word)) {
+                return 3;
+            }
+            if (field.contains(" " + word)) {
+                return 2;
+            }
+            return word.length() >= 3 && field.contains(word) ? 1 : 0;
+        }
+    }
+}
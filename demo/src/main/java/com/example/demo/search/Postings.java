@@ -0,0 +1,78 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only sorted list of {@link SearchIndex} slots. An index that scores by term frequency
+ * stores one int of frequencies next to each slot.
+ */
+final class Postings {
+
+    private int[] slots;
+    private int[] frequencies;
+    private int size;
+
+    private Postings(int[] frequencies) {
+        this.slots = new int[4];
+        this.frequencies = frequencies;
+    }
+
+    static Postings ofSlots() {
+        return new Postings(null);
+    }
+
+    static Postings withFrequencies() {
+        return new Postings(new int[4]);
+    }
+
+    void add(int slot) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size++] = slot;
+    }
+
+    void add(int slot, int frequency) {
+        if (size == slots.length) {
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        frequencies[size] = frequency;
+        add(slot);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slot(int index) {
+        return slots[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    /** Whether the slot at {@code index}, as returned by {@link #seek}, is {@code slot}. */
+    boolean holds(int index, int slot) {
+        return index < size && slots[index] == slot;
+    }
+
+    /** Copies the first {@code count} slots into {@code target} from {@code offset} on. */
+    void copySlots(int[] target, int offset, int count) {
+        System.arraycopy(slots, 0, target, offset, count);
+    }
+
+    /** First index at or after {@code from} whose slot is {@code >= slot}, found by galloping. */
+    int seek(int from, int slot) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && slots[high] < slot) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(slots, low, Math.min(high + 1, size), slot);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.demo.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.ProductMatch;
+import com.example.demo.entities.Product;
+
+/**
+ * Inverted index over product name and description, ranked with BM25F (name weighted above
+ * description). Every query word must match; the last one also matches as a prefix so the index
+ * can serve search-as-you-type.
+ *
+ * <p>Postings carry the term frequency of both fields packed into one int.
+ */
+@Component
+public class ProductSearchIndex extends SearchIndex<Product, ProductSearchIndex.Document> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final int MAX_QUERY_WORDS = 10;
+
+    private static final Comparator<ProductMatch> RANKING = Comparator.comparingDouble(ProductMatch::score)
+            .thenComparing(Comparator.comparingLong(ProductMatch::id).reversed());
+
+    private final int maxCandidates;
+    private final int maxExpansions;
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private long nameLengths;
+    private long descriptionLengths;
+
+    public ProductSearchIndex(@Value("${search.products.max-candidates:100000}") int maxCandidates,
+                              @Value("${search.products.max-prefix-expansions:50}") int maxExpansions) {
+        this.maxCandidates = maxCandidates;
+        this.maxExpansions = maxExpansions;
+    }
+
+    public int vocabularySize() {
+        return read(terms::size);
+    }
+
+    /**
+     * Returns up to {@code limit} products matching every word of the query within the optional
+     * price range, highest score first. At most {@code maxCandidates} postings of the most selective
+     * word are considered.
+     */
+    public List<ProductMatch> search(String query, BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<String> words = tokens.size() > MAX_QUERY_WORDS ? tokens.subList(0, MAX_QUERY_WORDS) : tokens;
+        long min = minPrice == null ? Long.MIN_VALUE : cents(minPrice);
+        long max = maxPrice == null ? Long.MAX_VALUE : cents(maxPrice);
+
+        return read(() -> {
+            int live = live();
+            if (live == 0) {
+                return List.of();
+            }
+            double averageName = Math.max(1.0, (double) nameLengths / live);
+            double averageDescription = Math.max(1.0, (double) descriptionLengths / live);
+
+            List<Group> groups = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                Group group = i == words.size() - 1 ? prefixGroup(words.get(i), live) : exactGroup(words.get(i), live);
+                if (group == null) {
+                    return List.of();
+                }
+                groups.add(group);
+            }
+            groups.sort(Comparator.comparingLong(Group::postings));
+
+            PriorityQueue<ProductMatch> top = new PriorityQueue<>(limit + 1, RANKING);
+            for (int slot : candidates(groups.get(0))) {
+                Document document = documentAt(slot);
+                if (document == null || document.priceCents() < min || document.priceCents() > max) {
+                    continue;
+                }
+                double score = 0;
+                for (Group group : groups) {
+                    double groupScore = group.score(slot, document, averageName, averageDescription);
+                    if (groupScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += groupScore;
+                }
+                if (score == 0) {
+                    continue;
+                }
+                top.offer(document.match(score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<ProductMatch> matches = new ArrayList<>(top);
+            matches.sort(RANKING.reversed());
+            return matches;
+        });
+    }
+
+    private Group exactGroup(String word, int live) {
+        Postings postings = terms.get(word);
+        return postings == null ? null : new Group(List.of(postings), live);
+    }
+
+    private Group prefixGroup(String word, int live) {
+        NavigableMap<String, Postings> expansions = terms.subMap(word, true, word + Character.MAX_VALUE, false);
+        if (expansions.isEmpty()) {
+            return null;
+        }
+        List<Postings> lists = new ArrayList<>(expansions.values());
+        if (lists.size() > maxExpansions) {
+            lists.sort(Comparator.comparingInt(Postings::size).reversed());
+            lists = new ArrayList<>(lists.subList(0, maxExpansions));
+        }
+        // The exact term always takes part, even when it is rarer than its expansions.
+        Postings exact = terms.get(word);
+        if (exact != null && !lists.contains(exact)) {
+            lists.add(exact);
+        }
+        return new Group(lists, live);
+    }
+
+    private int[] candidates(Group group) {
+        if (group.lists.size() == 1) {
+            Postings postings = group.lists.get(0);
+            int[] slots = new int[Math.min(postings.size(), maxCandidates)];
+            postings.copySlots(slots, 0, slots.length);
+            return slots;
+        }
+        int total = 0;
+        for (Postings postings : group.lists) {
+            total += postings.size();
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (Postings postings : group.lists) {
+            postings.copySlots(merged, offset, postings.size());
+            offset += postings.size();
+        }
+        Arrays.sort(merged);
+        int distinct = 0;
+        for (int i = 0; i < merged.length && distinct < maxCandidates; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, distinct);
+    }
+
+    @Override
+    protected Document document(Product product) {
+        return new Document(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice() == null ? 0 : cents(product.getPrice()), product.getVersion(),
+                TextNormalizer.tokens(product.getName()).size(), TextNormalizer.tokens(product.getDescription()).size());
+    }
+
+    @Override
+    protected void index(int slot, Document document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : TextNormalizer.tokens(document.name())) {
+            frequencies.merge(token, 1 << 16, Integer::sum);
+        }
+        for (String token : TextNormalizer.tokens(document.description())) {
+            frequencies.merge(token, 1, (current, one) -> (current & 0xFFFF) == 0xFFFF ? current : current + 1);
+        }
+        frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, key -> Postings.withFrequencies()).add(slot, frequency));
+        nameLengths += document.nameLength();
+        descriptionLengths += document.descriptionLength();
+    }
+
+    @Override
+    protected void retired(Document document) {
+        nameLengths -= document.nameLength();
+        descriptionLengths -= document.descriptionLength();
+    }
+
+    @Override
+    protected void clearPostings() {
+        terms.clear();
+        nameLengths = 0;
+        descriptionLengths = 0;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /** The posting lists one query word matches, with a read cursor per list. */
+    private static final class Group {
+
+        private final List<Postings> lists;
+        private final double[] idf;
+        private final int[] cursors;
+        private final long postings;
+
+        Group(List<Postings> lists, int live) {
+            this.lists = lists;
+            this.idf = new double[lists.size()];
+            this.cursors = new int[lists.size()];
+            long total = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                int documentFrequency = lists.get(i).size();
+                idf[i] = Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                total += documentFrequency;
+            }
+            this.postings = total;
+        }
+
+        long postings() {
+            return postings;
+        }
+
+        /** Best BM25F contribution among the group's terms, or 0 when the slot has none of them. Slots must ascend. */
+        double score(int slot, Document document, double averageName, double averageDescription) {
+            double best = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                Postings list = lists.get(i);
+                cursors[i] = list.seek(cursors[i], slot);
+                if (!list.holds(cursors[i], slot)) {
+                    continue;
+                }
+                int frequency = list.frequency(cursors[i]);
+                double weighted = NAME_WEIGHT * (frequency >>> 16) / (1 - B + B * document.nameLength() / averageName)
+                        + DESCRIPTION_WEIGHT * (frequency & 0xFFFF) / (1 - B + B * document.descriptionLength() / averageDescription);
+                best = Math.max(best, idf[i] * weighted / (K1 + weighted));
+            }
+            return best;
+        }
+    }
+
+    record Document(long id, String name, String description, long priceCents, Long version,
+                    int nameLength, int descriptionLength) implements SearchIndex.Document {
+
+        ProductMatch match(double score) {
+            return new ProductMatch(id, name, description, BigDecimal.valueOf(priceCents, 2), score);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory search index over one entity type, kept current by writes through the API and filled
+ * at startup by {@link SearchIndexLoader}. Subclasses decide what is indexed and how it is scored.
+ *
+ * <p>Every entity occupies a slot; slots are handed out in increasing order, so {@link Postings} are
+ * append-only sorted int arrays that can be intersected without sorting. An update retires the old
+ * slot and appends a new one; retired slots are dropped when enough of them pile up.
+ *
+ * @param <E> the indexed entity
+ * @param <D> what the index keeps of each entity
+ */
+public abstract class SearchIndex<E, D extends SearchIndex.Document> {
+
+    private static final int MIN_COMPACTION = 10_000;
+
+    /** The part of an entity an index keeps: its id, its version, and whatever it needs to score it. */
+    protected interface Document {
+
+        long id();
+
+        Long version();
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private Document[] documents = new Document[1024];
+    private int slots;
+    private int retired;
+
+    private boolean loading;
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    /** Builds the document kept for an entity. Called with the write lock held. */
+    protected abstract D document(E entity);
+
+    /** Adds a document's postings, and anything else derived from it, for the given slot. */
+    protected abstract void index(int slot, D document);
+
+    /** Called when a document leaves the index, before its slot is cleared. */
+    protected void retired(D document) {
+    }
+
+    /** Drops every posting ahead of compaction, which indexes the live documents again. */
+    protected abstract void clearPostings();
+
+    /**
+     * Indexes an entity as written through the API. Replaces any older version of the same entity.
+     */
+    public void put(E entity) {
+        lock.writeLock().lock();
+        try {
+            D document = document(entity);
+            removedWhileLoading.remove(document.id());
+            putLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                removedWhileLoading.add(id);
+            }
+            retire(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the start of a full load. Until {@link #endLoad()}, loaded rows never override newer
+     * versions written through {@link #put} and never resurrect entities deleted meanwhile.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            removedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(List<E> entities) {
+        lock.writeLock().lock();
+        try {
+            for (E entity : entities) {
+                D document = document(entity);
+                if (!removedWhileLoading.contains(document.id())) {
+                    putLocked(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Marks the end of a full load; from now on the index holds every row. */
+    public void endLoad() {
+        finishLoad();
+        ready = true;
+    }
+
+    /**
+     * Ends a load that failed part way. What was loaded stays searchable, but the index is not
+     * {@link #isReady() ready} until a later load completes.
+     */
+    public void abortLoad() {
+        finishLoad();
+    }
+
+    /** Whether a full load has completed, so a search sees every row and not just those loaded so far. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return read(slotsById::size);
+    }
+
+    /** Runs a query under the read lock. */
+    protected final <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The document in a slot, or {@code null} once it has been retired. Needs the read lock. */
+    @SuppressWarnings("unchecked")
+    protected final D documentAt(int slot) {
+        return (D) documents[slot];
+    }
+
+    /** Number of live documents. Needs the read lock. */
+    protected final int live() {
+        return slotsById.size();
+    }
+
+    private void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            removedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(D document) {
+        Integer existing = slotsById.get(document.id());
+        if (existing != null) {
+            D current = documentAt(existing);
+            if (current.version() != null && document.version() != null && current.version() > document.version()) {
+                return;
+            }
+            retire(document.id());
+        }
+
+        int slot = slots++;
+        if (slot == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[slot] = document;
+        slotsById.put(document.id(), slot);
+        index(slot, document);
+        compactIfNeeded();
+    }
+
+    private void retire(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            retired(documentAt(slot));
+            documents[slot] = null;
+            retired++;
+        }
+    }
+
+    /** Rebuilds slots and posting lists from the live documents once a quarter of the slots are retired. */
+    @SuppressWarnings("unchecked")
+    private void compactIfNeeded() {
+        if (retired < MIN_COMPACTION || retired < slots / 4) {
+            return;
+        }
+        Document[] live = Arrays.stream(documents, 0, slots).filter(document -> document != null).toArray(Document[]::new);
+        documents = Arrays.copyOf(live, Math.max(1024, live.length * 2));
+        slots = live.length;
+        retired = 0;
+        slotsById.clear();
+        clearPostings();
+        for (int slot = 0; slot < live.length; slot++) {
+            slotsById.put(live[slot].id(), slot);
+            index(slot, (D) live[slot]);
+        }
+    }
+}
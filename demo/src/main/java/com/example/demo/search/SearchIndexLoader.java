@@ -0,0 +1,110 @@
+package com.example.demo.search;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fills the search indexes once the application is ready, reading each table in id order one page
+ * at a time. Loading runs on its own thread, so neither startup nor the other scheduled tasks wait
+ * for it. A load that fails, for example because the database is down, is logged and tried again
+ * every {@code search.load.retry-interval}; until one completes, the index is not ready and its
+ * search endpoint answers 503.
+ */
+@Component
+public class SearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexLoader.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final int customerPageSize;
+    private final int productPageSize;
+    private final Duration retryInterval;
+    private ScheduledExecutorService scheduler;
+
+    public SearchIndexLoader(CustomerRepository customerRepository, CustomerSearchIndex customerSearchIndex,
+                             ProductRepository productRepository, ProductSearchIndex productSearchIndex,
+                             @Value("${search.customers.load-page-size:5000}") int customerPageSize,
+                             @Value("${search.products.load-page-size:5000}") int productPageSize,
+                             @Value("${search.load.retry-interval:30s}") Duration retryInterval) {
+        this.customerRepository = customerRepository;
+        this.customerSearchIndex = customerSearchIndex;
+        this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.customerPageSize = customerPageSize;
+        this.productPageSize = productPageSize;
+        this.retryInterval = retryInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::loadPending, 0, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Loads every index that has not completed a load yet. */
+    public void loadPending() {
+        load("customers", customerSearchIndex, customerRepository::findByIdGreaterThanOrderByIdAsc, Customer::getId, customerPageSize);
+        load("products", productSearchIndex, productRepository::findByIdGreaterThanOrderByIdAsc, Product::getId, productPageSize);
+    }
+
+    private <E> void load(String name, SearchIndex<E, ?> index, BiFunction<Long, Pageable, List<E>> pageAfter,
+                          Function<E, Long> id, int pageSize) {
+        if (index.isReady()) {
+            return;
+        }
+        long start = System.nanoTime();
+        index.beginLoad();
+        try {
+            long after = Long.MIN_VALUE;
+            List<E> page;
+            do {
+                page = pageAfter.apply(after, PageRequest.of(0, pageSize));
+                index.load(page);
+                if (!page.isEmpty()) {
+                    after = id.apply(page.get(page.size() - 1));
+                }
+            } while (page.size() == pageSize);
+        } catch (RuntimeException ex) {
+            index.abortLoad();
+            log.warn("Search index for {} failed to load, retrying in {}: {}", name, retryInterval, ex.toString());
+            return;
+        }
+        index.endLoad();
+        log.info("Search index loaded {} {} in {} ms", index.size(), name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
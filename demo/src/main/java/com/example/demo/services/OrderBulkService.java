@@ -0,0 +1,163 @@
+package com.example.demo.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.BulkOrderResponse;
+import com.example.demo.dto.BulkOrderResult;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.Product;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.outbox.OutboxService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Persists many orders per request in fixed-size batches, one transaction per batch. Orders and
+ * items take their ids from pooled sequences, so Hibernate sends each batch as JDBC batches instead
+ * of one round trip per row.
+ */
+@Service
+public class OrderBulkService {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${api.bulk.max-orders:10000}")
+    private int maxOrders;
+
+    public BulkOrderResponse ingest(List<Order> orders) {
+        if (orders.size() > maxOrders) {
+            throw new InvalidInputException("A bulk request accepts at most " + maxOrders + " orders");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        BulkOrderResult[] results = new BulkOrderResult[orders.size()];
+
+        for (int from = 0; from < orders.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, orders.size());
+            List<Integer> accepted = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                String error = validate(orders.get(index));
+                if (error == null) {
+                    accepted.add(index);
+                } else {
+                    results[index] = BulkOrderResult.failed(index, error);
+                }
+            }
+
+            try {
+                transaction.executeWithoutResult(status -> persist(orders, accepted));
+                accepted.forEach(index -> results[index] = BulkOrderResult.created(index, orders.get(index).getId()));
+            } catch (DataAccessException | PersistenceException batchFailure) {
+                // The batch was rolled back as a whole; retry its orders one by one to pin the failure
+                // on the offending records.
+                for (Integer index : accepted) {
+                    Order order = orders.get(index);
+                    resetIdentifiers(order);
+                    try {
+                        transaction.executeWithoutResult(status -> persist(orders, List.of(index)));
+                        results[index] = BulkOrderResult.created(index, order.getId());
+                    } catch (DataAccessException | PersistenceException recordFailure) {
+                        results[index] = BulkOrderResult.failed(index, NestedExceptionUtils.getMostSpecificCause(recordFailure).getMessage());
+                    }
+                }
+            }
+        }
+
+        return BulkOrderResponse.of(Arrays.asList(results));
+    }
+
+    private void persist(List<Order> orders, List<Integer> indexes) {
+        SalesRollupService.Delta rollups = new SalesRollupService.Delta();
+        OrderStatusCountService.Delta statusCounts = new OrderStatusCountService.Delta();
+        for (Integer index : indexes) {
+            Order order = orders.get(index);
+            order.setCustomer(entityManager.getReference(Customer.class, order.getCustomer().getId()));
+            if (order.getOrderItems() != null) {
+                for (OrderItem item : order.getOrderItems()) {
+                    item.setOrder(order);
+                    item.setProduct(entityManager.getReference(Product.class, item.getProduct().getId()));
+                }
+            }
+            if (order.getTotal() == null) {
+                order.setTotal(OrderTotals.totalOf(order.getOrderItems()));
+            }
+            if (order.getOrderDate() == null) {
+                order.setOrderDate(LocalDateTime.now());
+            }
+            entityManager.persist(order);
+            rollups.add(order);
+            statusCounts.add(order.getStatus());
+            outboxService.orderChanged(OrderEventType.ORDER_CREATED, order);
+        }
+        salesRollupService.apply(rollups);
+        orderStatusCountService.apply(statusCounts);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(Order order) {
+        if (order == null) {
+            return "Order is required";
+        }
+        if (order.getCustomer() == null || order.getCustomer().getId() == null) {
+            return "customer.id is required";
+        }
+        if (order.getStatus() == null) {
+            return "status is required";
+        }
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                if (item.getProduct() == null || item.getProduct().getId() == null) {
+                    return "orderItems.product.id is required";
+                }
+                if (item.getQuantity() <= 0) {
+                    return "orderItems.quantity must be greater than 0";
+                }
+                if (item.getUnitPrice() == null) {
+                    return "orderItems.unitPrice is required";
+                }
+            }
+        }
+        return null;
+    }
+
+    private void resetIdentifiers(Order order) {
+        order.setId(null);
+        order.setVersion(null);
+        if (order.getOrderItems() != null) {
+            order.getOrderItems().forEach(item -> item.setId(null));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.entities.Order;
+import com.example.demo.repositories.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class OrderExportService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Writes every order as one JSON document per line. Rows are read through a database cursor and
+     * the persistence context is cleared after each chunk, so heap use does not grow with the table.
+     */
+    public void writeNdjson(OutputStream out) {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Order> orders = orderRepository.streamAllBy()) {
+                Iterator<Order> iterator = orders.iterator();
+                long written = 0;
+                while (iterator.hasNext()) {
+                    writer.writeValue(out, iterator.next());
+                    out.write('\n');
+                    written++;
+                    if (written == 1) {
+                        out.flush();
+                    }
+                    if (written % chunkSize == 0) {
+                        out.flush();
+                        entityManager.clear();
+                    }
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.OrderFilter;
+import com.example.demo.dto.OrderSummary;
+import com.example.demo.entities.Order;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.repositories.OrderRepository;
+
+/**
+ * Read paths for orders that load the full graph (customer, items, products) in a fixed number of
+ * statements instead of one per association.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    public List<Order> findPage(OrderFilter filter, KeysetCursor after, Pageable window) {
+        List<Order> orders = orderRepository.findPage(filter, after, window);
+        fetchItems(orders);
+        return orders;
+    }
+
+    public List<OrderSummary> findSummaryPage(OrderFilter filter, KeysetCursor after, Pageable window) {
+        return orderRepository.findSummaryPage(filter, after, window);
+    }
+
+    public Optional<Order> findById(Long id) {
+        return orderRepository.findWithItemsById(id);
+    }
+
+    /** Orders with their items and products; missing ids are left out. */
+    public List<Order> findAllById(Collection<Long> ids) {
+        return orderRepository.fetchItemsByIdIn(ids);
+    }
+
+    private void fetchItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        // The page query can't fetch-join the collection without paging in memory, so items and their
+        // products are loaded for the whole page in one second statement.
+        orderRepository.fetchItemsByIdIn(orders.stream().map(Order::getId).toList());
+    }
+}
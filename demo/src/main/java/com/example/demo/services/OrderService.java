@@ -0,0 +1,225 @@
+package com.example.demo.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.OrderVersions;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.OrderItemRepository;
+import com.example.demo.repositories.OrderRepository;
+import com.example.demo.web.EntityTags;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Order and order item writes made through the REST controllers. Each write updates the sales
+ * rollups and records an outbox event in the same transaction; status counts follow on commit.
+ */
+@Service
+@Transactional
+public class OrderService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Order createOrder(Order order) {
+        order.setId(null);
+        order.setVersion(null);
+        order.setCustomer(resolveCustomer(order.getCustomer()));
+        if (order.getOrderDate() == null) {
+            order.setOrderDate(LocalDateTime.now());
+        }
+        List<OrderItem> items = order.getOrderItems() == null ? new ArrayList<>() : new ArrayList<>(order.getOrderItems());
+        order.setOrderItems(new ArrayList<>());
+        attachItems(order, items);
+        if (order.getTotal() == null) {
+            order.setTotal(OrderTotals.totalOf(order.getOrderItems()));
+        }
+
+        entityManager.persist(order);
+        salesRollupService.apply(new SalesRollupService.Delta().add(order));
+        outboxService.orderChanged(OrderEventType.ORDER_CREATED, order);
+        orderStatusCountService.apply(new OrderStatusCountService.Delta().add(order.getStatus()));
+        return order;
+    }
+
+    public Order updateOrder(Long id, Order details, String ifMatch) {
+        Order order = orderRepository.findWithItemsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
+        EntityTags.requireCurrent(ifMatch, EntityTags.of(OrderVersions.of(order)), details.getVersion(), order.getVersion(),
+                "Order " + id);
+
+        SalesRollupService.Delta delta = new SalesRollupService.Delta().subtract(order);
+        OrderStatus previousStatus = order.getStatus();
+
+        order.setCustomer(resolveCustomer(details.getCustomer()));
+        if (details.getOrderDate() != null) {
+            order.setOrderDate(details.getOrderDate());
+        }
+        order.setStatus(details.getStatus());
+        // The collection is orphan-removal managed by Hibernate, so it is refilled rather than replaced.
+        order.getOrderItems().clear();
+        attachItems(order, details.getOrderItems() == null ? List.of() : details.getOrderItems());
+        order.setTotal(details.getTotal() != null ? details.getTotal() : OrderTotals.totalOf(order.getOrderItems()));
+
+        salesRollupService.apply(delta.add(order));
+        outboxService.orderChanged(OrderEventType.ORDER_UPDATED, order);
+        orderStatusCountService.apply(new OrderStatusCountService.Delta().move(previousStatus, order.getStatus()));
+        return order;
+    }
+
+    public void deleteOrder(Long id) {
+        Order order = orderRepository.findWithItemsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
+        salesRollupService.apply(new SalesRollupService.Delta().subtract(order));
+        outboxService.orderChanged(OrderEventType.ORDER_DELETED, order);
+        orderStatusCountService.apply(new OrderStatusCountService.Delta().subtract(order.getStatus()));
+        orderRepository.delete(order);
+    }
+
+    public OrderItem createOrderItem(OrderItem item) {
+        item.setId(null);
+        item.setOrder(resolveOrder(item.getOrder()));
+        item.setProduct(resolveProducts(List.of(item)).get(item.getProduct().getId()));
+        item.getOrder().getOrderItems().add(item);
+        touch(item.getOrder());
+
+        entityManager.persist(item);
+        salesRollupService.apply(new SalesRollupService.Delta().add(item));
+        outboxService.itemChanged(OrderEventType.ORDER_ITEM_ADDED, item);
+        return item;
+    }
+
+    public OrderItem updateOrderItem(Long id, OrderItem details) {
+        OrderItem item = orderItemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with id " + id));
+        SalesRollupService.Delta delta = new SalesRollupService.Delta().subtract(item);
+
+        Order order = details.getOrder() == null ? item.getOrder() : resolveOrder(details.getOrder());
+        touch(item.getOrder());
+        if (!order.getId().equals(item.getOrder().getId())) {
+            item.getOrder().getOrderItems().remove(item);
+            order.getOrderItems().add(item);
+            touch(order);
+        }
+        item.setOrder(order);
+        item.setProduct(resolveProducts(List.of(details)).get(details.getProduct().getId()));
+        item.setQuantity(details.getQuantity());
+        item.setUnitPrice(details.getUnitPrice());
+
+        salesRollupService.apply(delta.add(item));
+        outboxService.itemChanged(OrderEventType.ORDER_ITEM_UPDATED, item);
+        return item;
+    }
+
+    public void deleteOrderItem(Long id) {
+        OrderItem item = orderItemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("OrderItem not found with id " + id));
+        salesRollupService.apply(new SalesRollupService.Delta().subtract(item));
+        outboxService.itemChanged(OrderEventType.ORDER_ITEM_REMOVED, item);
+        touch(item.getOrder());
+        item.getOrder().getOrderItems().remove(item);
+        orderItemRepository.delete(item);
+    }
+
+    /**
+     * Bumps the order's version when only its items change. Concurrent writes to one order then
+     * conflict instead of both committing, which keeps the order's outbox events in commit order.
+     */
+    private void touch(Order order) {
+        entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    private void attachItems(Order order, List<OrderItem> items) {
+        Map<Long, Product> products = resolveProducts(items);
+        for (OrderItem item : items) {
+            // Items are replaced wholesale; any ids in the payload refer to rows that are deleted.
+            item.setId(null);
+            item.setOrder(order);
+            item.setProduct(products.get(item.getProduct().getId()));
+            order.getOrderItems().add(item);
+        }
+    }
+
+    private Customer resolveCustomer(Customer customer) {
+        if (customer == null || customer.getId() == null) {
+            throw new InvalidInputException("customer.id is required");
+        }
+        return customerRepository.findById(customer.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + customer.getId()));
+    }
+
+    private Order resolveOrder(Order order) {
+        if (order == null || order.getId() == null) {
+            throw new InvalidInputException("OrderId is required");
+        }
+        return orderRepository.findById(order.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + order.getId()));
+    }
+
+    /**
+     * Loads every product referenced by the items; products in the second-level cache are taken from
+     * there and the rest are read with a single query.
+     */
+    private Map<Long, Product> resolveProducts(List<OrderItem> items) {
+        for (OrderItem item : items) {
+            if (item.getProduct() == null || item.getProduct().getId() == null) {
+                throw new InvalidInputException("product.id is required");
+            }
+            if (item.getUnitPrice() == null) {
+                throw new InvalidInputException("unitPrice is required");
+            }
+        }
+        Set<Long> ids = items.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet());
+        Map<Long, Product> products = entityManager.unwrap(Session.class).byMultipleIds(Product.class)
+                .multiLoad(new ArrayList<>(ids)).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : ids) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found with id " + productId);
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.services;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.OrderStatusCounts;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.repositories.OrderRepository;
+
+/**
+ * Per-status order counts kept in memory, so the dashboard never scans Orders. Writers collect their
+ * status changes in a {@link Delta}, which is applied once their transaction commits; a rolled back
+ * write leaves the counts alone.
+ *
+ * <p>Every instance only sees its own writes, so the counts are reloaded from the table on a
+ * schedule. A write committing while a reload runs may be counted twice or not at all until the
+ * reload after it.
+ */
+@Service
+public class OrderStatusCountService {
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, AtomicLong> counts = new EnumMap<>(OrderStatus.class);
+    private volatile Instant syncedAt;
+
+    public OrderStatusCountService(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    public void apply(Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(delta);
+            }
+        });
+    }
+
+    public OrderStatusCounts counts() {
+        if (syncedAt == null) {
+            resync();
+        }
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        for (Map.Entry<OrderStatus, AtomicLong> entry : counts.entrySet()) {
+            long count = Math.max(0, entry.getValue().get());
+            snapshot.put(entry.getKey(), count);
+            total += count;
+        }
+        return new OrderStatusCounts(snapshot, total, syncedAt);
+    }
+
+    /** Reloads the counts with one grouped count over IX_Orders_Status_OrderDate_Id. */
+    @Scheduled(fixedDelayString = "${api.status.counts.resync-interval-ms:60000}")
+    public void resync() {
+        Map<OrderStatus, Long> loaded = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.countByStatus()) {
+            loaded.put((OrderStatus) row[0], ((Number) row[1]).longValue());
+        }
+        counts.forEach((status, count) -> count.set(loaded.getOrDefault(status, 0L)));
+        syncedAt = Instant.now();
+    }
+
+    private void add(Delta delta) {
+        for (OrderStatus status : OrderStatus.values()) {
+            long change = delta.changes[status.ordinal()];
+            if (change != 0) {
+                counts.get(status).addAndGet(change);
+            }
+        }
+    }
+
+    /**
+     * Status changes of one transaction. Take the old status with {@code subtract} and the new one
+     * with {@code add}; null statuses are ignored.
+     */
+    public static final class Delta {
+
+        private final long[] changes = new long[OrderStatus.values().length];
+
+        public Delta add(OrderStatus status) {
+            return change(status, 1);
+        }
+
+        public Delta subtract(OrderStatus status) {
+            return change(status, -1);
+        }
+
+        public Delta move(OrderStatus from, OrderStatus to) {
+            return from == to ? this : subtract(from).add(to);
+        }
+
+        private Delta change(OrderStatus status, int sign) {
+            if (status != null) {
+                changes[status.ordinal()] += sign;
+            }
+            return this;
+        }
+
+        boolean isEmpty() {
+            for (long change : changes) {
+                if (change != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
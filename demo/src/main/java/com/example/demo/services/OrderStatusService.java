@@ -0,0 +1,137 @@
+package com.example.demo.services;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.BatchStatusChangeResponse;
+import com.example.demo.dto.BatchStatusChangeResponse.Reason;
+import com.example.demo.dto.BatchStatusChangeResponse.Rejected;
+import com.example.demo.dto.OrderStatusChange;
+import com.example.demo.dto.OrderStatusSnapshot;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.exceptions.InvalidStatusTransitionException;
+import com.example.demo.exceptions.PreconditionFailedException;
+import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.OrderRepository;
+
+/**
+ * Status transitions written as single UPDATE statements on Orders. The order items are never
+ * loaded or touched.
+ */
+@Service
+@Transactional
+public class OrderStatusService {
+
+    // Keeps IN lists well below SQL Server's 2100 parameter limit.
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
+    @Value("${api.status.max-batch:10000}")
+    private int maxBatch;
+
+    public OrderStatusChange changeStatus(Long id, OrderStatus target, Long expectedVersion) {
+        OrderStatusSnapshot current = orderRepository.findStatusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            throw new PreconditionFailedException("Order " + id + " has been modified; current version is " + current.version());
+        }
+
+        if (!current.status().canTransitionTo(target)) {
+            throw new InvalidStatusTransitionException("Order " + id + " can't move from " + current.status() + " to " + target);
+        }
+        if (orderRepository.updateStatus(id, current.version(), target) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, id);
+        }
+        outboxService.statusChanged(id, current.status(), target, current.version() + 1);
+        orderStatusCountService.apply(new OrderStatusCountService.Delta().move(current.status(), target));
+        return new OrderStatusChange(id, target, current.version() + 1);
+    }
+
+    public BatchStatusChangeResponse changeStatus(List<Long> ids, OrderStatus target) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidInputException("ids is required");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > maxBatch) {
+            throw new InvalidInputException("A status batch accepts at most " + maxBatch + " orders");
+        }
+
+        List<OrderStatusChange> updated = new ArrayList<>();
+        List<Rejected> rejected = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            changeChunk(chunk, target, updated, rejected);
+        }
+        return new BatchStatusChangeResponse(target, updated, rejected);
+    }
+
+    private void changeChunk(List<Long> ids, OrderStatus target, List<OrderStatusChange> updated, List<Rejected> rejected) {
+        Map<Long, OrderStatusSnapshot> before = snapshots(ids);
+
+        Map<OrderStatus, List<Long>> bySource = new EnumMap<>(OrderStatus.class);
+        for (Long id : ids) {
+            OrderStatusSnapshot snapshot = before.get(id);
+            if (snapshot == null) {
+                rejected.add(new Rejected(id, Reason.NOT_FOUND));
+                continue;
+            }
+            if (!snapshot.status().canTransitionTo(target)) {
+                rejected.add(new Rejected(id, Reason.INVALID_TRANSITION));
+                continue;
+            }
+            bySource.computeIfAbsent(snapshot.status(), status -> new ArrayList<>()).add(id);
+        }
+        if (bySource.isEmpty()) {
+            return;
+        }
+
+        // One statement per source status; the status predicate keeps a concurrent change from being overwritten.
+        List<Long> attempted = new ArrayList<>();
+        bySource.forEach((source, sourceIds) -> {
+            orderRepository.updateStatusFrom(sourceIds, source, target);
+            attempted.addAll(sourceIds);
+        });
+
+        Map<Long, OrderStatusSnapshot> after = snapshots(attempted);
+        OrderStatusCountService.Delta statusCounts = new OrderStatusCountService.Delta();
+        for (Long id : attempted) {
+            OrderStatusSnapshot snapshot = after.get(id);
+            if (snapshot != null && snapshot.status() == target
+                    && snapshot.version() == before.get(id).version() + 1) {
+                updated.add(new OrderStatusChange(id, target, snapshot.version()));
+                outboxService.statusChanged(id, before.get(id).status(), target, snapshot.version());
+                statusCounts.move(before.get(id).status(), target);
+            } else {
+                rejected.add(new Rejected(id, Reason.CONFLICT));
+            }
+        }
+        orderStatusCountService.apply(statusCounts);
+    }
+
+    private Map<Long, OrderStatusSnapshot> snapshots(List<Long> ids) {
+        return orderRepository.findStatusByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderStatusSnapshot::id, Function.identity()));
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.demo.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.StreamedOrderResponse;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Creates one order from a request body too large to bind as a whole. The body is parsed token by
+ * token: the order is inserted when {@code orderItems} begins, then its items are read one at a
+ * time, validated and persisted in batches of {@code api.stream.batch-size}. Each batch is flushed
+ * and detached, and the total is summed as items go by, so heap use depends on the batch size, not
+ * on the number of items. Everything runs in one transaction; a bad item rolls back the whole order.
+ */
+@Service
+public class OrderStreamService {
+
+    private static final Set<String> HEADER_FIELDS = Set.of("customer", "status", "orderDate");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.stream.batch-size:500}")
+    private int batchSize;
+
+    @Value("${api.stream.max-items:200000}")
+    private int maxItems;
+
+    /**
+     * Reads an order shaped like the {@code POST /order} body. {@code customer}, {@code status} and
+     * {@code orderDate} must come before {@code orderItems}. A {@code total}, if given, must equal
+     * the sum of the items.
+     */
+    public StreamedOrderResponse ingest(InputStream body) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            try (JsonParser parser = objectMapper.createParser(body)) {
+                return read(parser);
+            } catch (JsonProcessingException ex) {
+                throw new InvalidInputException("Malformed order: " + ex.getOriginalMessage());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private StreamedOrderResponse read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new InvalidInputException("Request body must be an order object");
+        }
+
+        Order order = new Order();
+        BigDecimal declaredTotal = null;
+        ItemBatches items = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (items != null && HEADER_FIELDS.contains(field)) {
+                throw new InvalidInputException(field + " must come before orderItems");
+            }
+            switch (field) {
+                case "customer" -> order.setCustomer(objectMapper.readValue(parser, Customer.class));
+                case "status" -> order.setStatus(objectMapper.readValue(parser, OrderStatus.class));
+                case "orderDate" -> order.setOrderDate(objectMapper.readValue(parser, LocalDateTime.class));
+                case "total" -> declaredTotal = objectMapper.readValue(parser, BigDecimal.class);
+                case "orderItems" -> {
+                    if (items != null) {
+                        throw new InvalidInputException("orderItems must appear only once");
+                    }
+                    if (order.getCustomer() == null || order.getStatus() == null) {
+                        throw new InvalidInputException("customer and status must come before orderItems");
+                    }
+                    items = new ItemBatches(start(order));
+                    items.readAll(parser);
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (items == null) {
+            items = new ItemBatches(start(order));
+        }
+        if (declaredTotal != null && declaredTotal.compareTo(items.total) != 0) {
+            throw new InvalidInputException("total " + declaredTotal + " does not match the items, which add up to " + items.total);
+        }
+        order.setTotal(items.total);
+
+        salesRollupService.apply(items.rollups.add(order));
+        outboxService.orderChanged(OrderEventType.ORDER_CREATED, order, items.count);
+        orderStatusCountService.apply(new OrderStatusCountService.Delta().add(order.getStatus()));
+        entityManager.flush();
+        return new StreamedOrderResponse(order.getId(), order.getCustomer().getId(), order.getStatus(),
+                order.getOrderDate(), order.getTotal(), items.count, order.getVersion());
+    }
+
+    private static String validate(OrderItem item) {
+        if (item.getProduct() == null || item.getProduct().getId() == null) {
+            return "product.id is required";
+        }
+        if (item.getQuantity() <= 0) {
+            return "quantity must be greater than 0";
+        }
+        if (item.getUnitPrice() == null) {
+            return "unitPrice is required";
+        }
+        return null;
+    }
+
+    /** Inserts the order with a zero total; the real one is written once every item has been read. */
+    private Order start(Order order) {
+        if (order.getCustomer() == null || order.getCustomer().getId() == null) {
+            throw new InvalidInputException("customer.id is required");
+        }
+        if (order.getStatus() == null) {
+            throw new InvalidInputException("status is required");
+        }
+        Long customerId = order.getCustomer().getId();
+        order.setCustomer(customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + customerId)));
+        if (order.getOrderDate() == null) {
+            order.setOrderDate(LocalDateTime.now());
+        }
+        // Items reference the order but are never added to its collection, which would hold them all.
+        order.setOrderItems(new ArrayList<>());
+        order.setTotal(BigDecimal.ZERO);
+        entityManager.persist(order);
+        return order;
+    }
+
+    /** Items read since the last flush, plus running totals for the whole order. */
+    private final class ItemBatches {
+
+        private final Order order;
+        private final List<OrderItem> pending = new ArrayList<>();
+        private final SalesRollupService.Delta rollups = new SalesRollupService.Delta();
+        private BigDecimal total = BigDecimal.ZERO;
+        private int count;
+
+        ItemBatches(Order order) {
+            this.order = order;
+        }
+
+        void readAll(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return;
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw new InvalidInputException("orderItems must be an array");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                add(objectMapper.readValue(parser, OrderItem.class));
+            }
+            flush();
+        }
+
+        private void add(OrderItem item) {
+            if (item == null) {
+                throw new InvalidInputException("orderItems[" + count + "] must be an object");
+            }
+            String error = validate(item);
+            if (error != null) {
+                throw new InvalidInputException("orderItems[" + count + "]." + error);
+            }
+            if (++count > maxItems) {
+                throw new InvalidInputException("An order accepts at most " + maxItems + " items");
+            }
+            item.setId(null);
+            item.setOrder(order);
+            total = total.add(OrderTotals.lineTotal(item));
+            pending.add(item);
+            if (pending.size() == batchSize) {
+                flush();
+            }
+        }
+
+        /** Checks the batch's products in one cache lookup, inserts the items and lets go of them. */
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<Long> productIds = pending.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet());
+            Map<Long, Product> products = productCatalogCache.findAllById(productIds);
+            for (OrderItem item : pending) {
+                Long productId = item.getProduct().getId();
+                if (!products.containsKey(productId)) {
+                    throw new ResourceNotFoundException("Product not found with id " + productId);
+                }
+                item.setProduct(entityManager.getReference(Product.class, productId));
+                entityManager.persist(item);
+                rollups.add(item);
+            }
+            entityManager.flush();
+            pending.forEach(entityManager::detach);
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.services;
+
+import java.math.BigDecimal;
+
+import com.example.demo.entities.OrderItem;
+
+public final class OrderTotals {
+
+    private OrderTotals() {
+    }
+
+    public static BigDecimal lineTotal(OrderItem item) {
+        return item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+    }
+
+    public static BigDecimal totalOf(Iterable<OrderItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        if (items != null) {
+            for (OrderItem item : items) {
+                total = total.add(lineTotal(item));
+            }
+        }
+        return total;
+    }
+}
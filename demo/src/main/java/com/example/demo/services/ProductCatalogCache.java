@@ -0,0 +1,70 @@
+package com.example.demo.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, expiring cache of catalog products in front of {@link ProductRepository}. Writes through
+ * {@code ProductController} invalidate the affected entry before the response is returned.
+ */
+@Service
+public class ProductCatalogCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, Product> cache;
+
+    public ProductCatalogCache(ProductRepository productRepository,
+                               @Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${catalog.cache.ttl:10m}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productCatalog");
+    }
+
+    public Optional<Product> findById(Long id) {
+        return Optional.ofNullable(cache.get(id, key -> productRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Looks up many products at once; the ones not cached are read with a single query. Missing
+     * products are left out of the result.
+     */
+    public Map<Long, Product> findAllById(Collection<Long> ids) {
+        return cache.getAll(ids, missing -> productRepository.findAllById(new ArrayList<Long>(missing)).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity())));
+    }
+
+    public Optional<Product> findCached(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
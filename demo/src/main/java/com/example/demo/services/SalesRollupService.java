@@ -0,0 +1,266 @@
+package com.example.demo.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.RollupRebuildReport;
+import com.example.demo.entities.CustomerSalesMonthly;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.ProductSalesDaily;
+import com.example.demo.repositories.CustomerSalesMonthlyRepository;
+import com.example.demo.repositories.ProductSalesDailyRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Keeps ProductSalesDaily and CustomerSalesMonthly in step with Orders and OrderItems. Writers
+ * collect what they add and remove in a {@link Delta} and apply it in their own transaction, so a
+ * rollup row never disagrees with a committed order. Revenue is {@code Quantity * UnitPrice} summed
+ * over the items, whatever the order status.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductSalesDailyRepository productSalesRepository;
+
+    @Autowired
+    private CustomerSalesMonthlyRepository customerSalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Delta delta) {
+        delta.products.forEach((key, totals) -> {
+            if (totals.isZero()) {
+                return;
+            }
+            upsert(() -> productSalesRepository.increment(key.productId(), key.day(), totals.count, totals.revenue),
+                    () -> jdbcTemplate.update("insert into ProductSalesDaily (ProductID, SalesDate, Quantity, Revenue) values (?, ?, ?, ?)",
+                            key.productId(), key.day(), totals.count, totals.revenue));
+        });
+        delta.customers.forEach((key, totals) -> {
+            if (totals.isZero()) {
+                return;
+            }
+            upsert(() -> customerSalesRepository.increment(key.customerId(), key.month(), totals.count, totals.revenue),
+                    () -> jdbcTemplate.update("insert into CustomerSalesMonthly (CustomerID, SalesMonth, OrderCount, Revenue) values (?, ?, ?, ?)",
+                            key.customerId(), key.month(), totals.count, totals.revenue));
+        });
+    }
+
+    /**
+     * Increments the row, inserting it when it does not exist yet. Two transactions can both find no
+     * row and both insert; the second insert waits on the first one's key, fails once it commits, and
+     * then increments the committed row. The insert goes through JDBC rather than the entity manager,
+     * which would mark the whole transaction rollback-only on the duplicate key.
+     */
+    private static void upsert(IntSupplier increment, Runnable insert) {
+        if (increment.getAsInt() > 0) {
+            return;
+        }
+        try {
+            insert.run();
+        } catch (DuplicateKeyException ex) {
+            if (increment.getAsInt() == 0) {
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Recomputes both rollups from Orders and OrderItems, reports how many rows were wrong and
+     * replaces the tables with the recomputed rows.
+     *
+     * <p>Runs SERIALIZABLE, so no order can commit between reading the totals and replacing the rows;
+     * its increment would be lost. The rollup tables are read first, which makes writers wait on
+     * them from the start. A writer caught holding order rows instead ends in a deadlock, and the
+     * database rolls back one side.
+     */
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public RollupRebuildReport rebuild() {
+        Map<ProductDay, Totals> storedProducts = new HashMap<>();
+        productSalesRepository.findAll().forEach(row -> storedProducts.put(
+                new ProductDay(row.getProductId(), row.getSalesDate()), new Totals(row.getQuantity(), row.getRevenue())));
+        Map<CustomerMonth, Totals> storedCustomers = new HashMap<>();
+        customerSalesRepository.findAll().forEach(row -> storedCustomers.put(
+                new CustomerMonth(row.getCustomerId(), row.getSalesMonth()), new Totals(row.getOrderCount(), row.getRevenue())));
+
+        Map<ProductDay, Totals> products = new HashMap<>();
+        entityManager.createQuery("select i.product.id, year(o.orderDate), month(o.orderDate), day(o.orderDate), "
+                        + "sum(i.quantity), sum(i.quantity * i.unitPrice) "
+                        + "from OrderItem i join i.order o "
+                        + "group by i.product.id, year(o.orderDate), month(o.orderDate), day(o.orderDate)", Object[].class)
+                .getResultStream()
+                .forEach(row -> products.put(
+                        new ProductDay((Long) row[0], LocalDate.of(toInt(row[1]), toInt(row[2]), toInt(row[3]))),
+                        new Totals(((Number) row[4]).longValue(), (BigDecimal) row[5])));
+
+        Map<CustomerMonth, Totals> customers = new HashMap<>();
+        entityManager.createQuery("select o.customer.id, year(o.orderDate), month(o.orderDate), "
+                        + "count(distinct o.id), coalesce(sum(i.quantity * i.unitPrice), 0) "
+                        + "from Order o left join o.orderItems i "
+                        + "group by o.customer.id, year(o.orderDate), month(o.orderDate)", Object[].class)
+                .getResultStream()
+                .forEach(row -> customers.put(
+                        new CustomerMonth((Long) row[0], LocalDate.of(toInt(row[1]), toInt(row[2]), 1)),
+                        new Totals(((Number) row[3]).longValue(), toBigDecimal(row[4]))));
+
+        int productMismatches = mismatches(products, storedProducts);
+        int customerMismatches = mismatches(customers, storedCustomers);
+
+        productSalesRepository.deleteAllInBatch();
+        customerSalesRepository.deleteAllInBatch();
+        entityManager.clear();
+
+        int pending = 0;
+        for (Map.Entry<ProductDay, Totals> entry : products.entrySet()) {
+            entityManager.persist(new ProductSalesDaily(entry.getKey().productId(), entry.getKey().day(),
+                    entry.getValue().count, entry.getValue().revenue));
+            pending = flushEvery(++pending);
+        }
+        for (Map.Entry<CustomerMonth, Totals> entry : customers.entrySet()) {
+            entityManager.persist(new CustomerSalesMonthly(entry.getKey().customerId(), entry.getKey().month(),
+                    entry.getValue().count, entry.getValue().revenue));
+            pending = flushEvery(++pending);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new RollupRebuildReport(products.size(), productMismatches, customers.size(), customerMismatches);
+    }
+
+    private int flushEvery(int pending) {
+        if (pending < REBUILD_BATCH_SIZE) {
+            return pending;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return 0;
+    }
+
+    private static <K> int mismatches(Map<K, Totals> expected, Map<K, Totals> stored) {
+        int mismatches = 0;
+        for (Map.Entry<K, Totals> entry : expected.entrySet()) {
+            if (!entry.getValue().sameAs(stored.get(entry.getKey()))) {
+                mismatches++;
+            }
+        }
+        for (Map.Entry<K, Totals> entry : stored.entrySet()) {
+            // Rows that were zeroed out by deletes are equivalent to missing ones.
+            if (!expected.containsKey(entry.getKey()) && !entry.getValue().isZero()) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Accumulates rollup changes. Take the old state with {@code subtract} before a change and the
+     * new state with {@code add} after it; rows whose net change is zero are not written.
+     */
+    public static final class Delta {
+
+        private final Map<ProductDay, Totals> products = new HashMap<>();
+        private final Map<CustomerMonth, Totals> customers = new HashMap<>();
+
+        public Delta add(Order order) {
+            return order(order, 1);
+        }
+
+        public Delta subtract(Order order) {
+            return order(order, -1);
+        }
+
+        public Delta add(OrderItem item) {
+            return item(item, 1);
+        }
+
+        public Delta subtract(OrderItem item) {
+            return item(item, -1);
+        }
+
+        private Delta order(Order order, int sign) {
+            customers.computeIfAbsent(CustomerMonth.of(order), key -> new Totals()).count += sign;
+            if (order.getOrderItems() != null) {
+                order.getOrderItems().forEach(item -> item(item, sign));
+            }
+            return this;
+        }
+
+        private Delta item(OrderItem item, int sign) {
+            Order order = item.getOrder();
+            BigDecimal revenue = OrderTotals.lineTotal(item);
+            if (sign < 0) {
+                revenue = revenue.negate();
+            }
+
+            Totals product = products.computeIfAbsent(
+                    new ProductDay(item.getProduct().getId(), order.getOrderDate().toLocalDate()), key -> new Totals());
+            product.count += (long) sign * item.getQuantity();
+            product.revenue = product.revenue.add(revenue);
+
+            Totals customer = customers.computeIfAbsent(CustomerMonth.of(order), key -> new Totals());
+            customer.revenue = customer.revenue.add(revenue);
+            return this;
+        }
+    }
+
+    private record ProductDay(Long productId, LocalDate day) {}
+
+    private record CustomerMonth(Long customerId, LocalDate month) {
+
+        static CustomerMonth of(Order order) {
+            return new CustomerMonth(order.getCustomer().getId(), order.getOrderDate().toLocalDate().withDayOfMonth(1));
+        }
+    }
+
+    /** Quantity or order count, plus revenue. */
+    private static final class Totals {
+
+        private long count;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        Totals() {}
+
+        Totals(long count, BigDecimal revenue) {
+            this.count = count;
+            this.revenue = revenue == null ? BigDecimal.ZERO : revenue;
+        }
+
+        boolean isZero() {
+            return count == 0 && revenue.signum() == 0;
+        }
+
+        boolean sameAs(Totals other) {
+            return other != null && count == other.count && revenue.compareTo(other.revenue) == 0;
+        }
+    }
+}
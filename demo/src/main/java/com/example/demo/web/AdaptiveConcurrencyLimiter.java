@@ -0,0 +1,98 @@
+package com.example.demo.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * AIMD concurrency limit. Every request that finishes under the latency threshold while the limit
+ * is in use adds {@code 1/limit} (about one per round of requests); a slow or failed request
+ * multiplies the limit by the backoff ratio, at most once per threshold interval so one burst of
+ * slow requests counts as a single congestion signal.
+ *
+ * <p>Low-priority requests are only admitted while fewer than {@code lowPriorityShare * limit}
+ * requests are in flight, which keeps the rest of the limit for critical ones.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { CRITICAL, LOW }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long thresholdNanos;
+    private final double backoffRatio;
+    private final double lowPriorityShare;
+    private final LongSupplier clock;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${api.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${api.concurrency.min-limit:5}") int minLimit,
+                                      @Value("${api.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${api.concurrency.latency-threshold:500ms}") Duration latencyThreshold,
+                                      @Value("${api.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${api.concurrency.low-priority-share:0.5}") double lowPriorityShare,
+                                      MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, lowPriorityShare, System::nanoTime);
+        Gauge.builder("api.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("api.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                               double backoffRatio, double lowPriorityShare, LongSupplier clock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.thresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.lowPriorityShare = lowPriorityShare;
+        this.clock = clock;
+        this.lastDecrease = clock.getAsLong() - thresholdNanos;
+    }
+
+    public synchronized boolean tryAcquire(Priority priority) {
+        double allowed = priority == Priority.CRITICAL ? limit : Math.max(1, limit * lowPriorityShare);
+        if (inFlight >= (int) allowed) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /** Returns a permit and feeds the request's latency and outcome into the limit. */
+    public synchronized void release(long latencyNanos, boolean succeeded) {
+        int inFlightBefore = inFlight--;
+        if (!succeeded || latencyNanos > thresholdNanos) {
+            long now = clock.getAsLong();
+            if (now - lastDecrease >= thresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecrease = now;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /** Returns a permit without a latency sample, e.g. when the request went asynchronous. */
+    public synchronized void releaseWithoutSample() {
+        inFlight--;
+    }
+
+    public synchronized double limit() {
+        return limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.web;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.example.demo.exceptions.ServiceOverloadedException;
+import com.example.demo.web.AdaptiveConcurrencyLimiter.Priority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits controller calls through {@link AdaptiveConcurrencyLimiter}. Writes are critical; GETs on
+ * the configured low-priority paths (lists, export, analytics) are shed first. A rejected request
+ * fails fast with {@link ServiceOverloadedException}, before any handler or database work.
+ *
+ * <p>It runs as an interceptor rather than a servlet filter so the rejection goes through
+ * {@code GlobalExceptionHandler} like every other error.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> lowPriorityPaths;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter,
+                                       @Value("${api.concurrency.low-priority-paths:}") List<String> lowPriorityPaths,
+                                       MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.lowPriorityPaths = lowPriorityPaths;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // The original dispatch still holds the permit; it is returned when the async request completes.
+            return true;
+        }
+        Priority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            Counter.builder("api.concurrency.rejected")
+                    .description("Requests shed by the adaptive concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+            throw new ServiceOverloadedException("The service is overloaded, retry shortly");
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming responses keep their permit, and the JDBC connection behind it, until the response
+        // completes. They run for as long as the client reads, so their duration says nothing about capacity.
+        if (request.getAttribute(STARTED) != null) {
+            request.removeAttribute(STARTED);
+            request.getAsyncContext().addListener(new ReleaseOnComplete());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        request.removeAttribute(STARTED);
+        limiter.release(System.nanoTime() - (Long) started, ex == null && response.getStatus() < 500);
+    }
+
+    Priority priorityOf(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return Priority.CRITICAL;
+        }
+        String path = request.getServletPath();
+        for (String pattern : lowPriorityPaths) {
+            if (matcher.match(pattern, path)) {
+                return Priority.LOW;
+            }
+        }
+        return Priority.CRITICAL;
+    }
+
+    /** The container calls {@code onComplete} exactly once, also after an async error or timeout. */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.releaseWithoutSample();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
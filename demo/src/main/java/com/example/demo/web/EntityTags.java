@@ -0,0 +1,68 @@
+package com.example.demo.web;
+
+import com.example.demo.dto.OrderVersions;
+import com.example.demo.exceptions.PreconditionFailedException;
+
+/**
+ * Strong ETags derived from an entity's {@code @Version} column.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * An order's body embeds its customer and the items' products, so its tag carries their
+     * versions as well as its own.
+     */
+    public static String of(OrderVersions versions) {
+        return "\"" + versions.order() + "." + versions.customer() + "." + versions.products() + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, Long version) {
+        return version != null && matches(ifNoneMatch, of(version));
+    }
+
+    /**
+     * {@code If-None-Match} uses weak comparison, so a {@code W/} prefix is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rejects a write when the client's {@code If-Match} header or body version is not the current version.
+     */
+    public static void requireCurrent(String ifMatch, Long clientVersion, Long currentVersion, String resource) {
+        requireCurrent(ifMatch, of(currentVersion), clientVersion, currentVersion, resource);
+    }
+
+    /**
+     * As above, for a resource whose current tag is not just its version.
+     */
+    public static void requireCurrent(String ifMatch, String currentTag, Long clientVersion, Long currentVersion,
+                                      String resource) {
+        if (ifMatch != null && !ifMatch.trim().equals("*") && !ifMatch.trim().equals(currentTag)) {
+            throw new PreconditionFailedException(resource + " has been modified; current version is " + currentVersion);
+        }
+        if (clientVersion != null && !clientVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resource + " has been modified; current version is " + currentVersion);
+        }
+    }
+}
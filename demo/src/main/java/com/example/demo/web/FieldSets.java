@@ -0,0 +1,23 @@
+package com.example.demo.web;
+
+import com.example.demo.exceptions.InvalidInputException;
+
+/**
+ * Named views selected with {@code fields=} on the list endpoints. {@code fields=summary} is mapped
+ * to its own handler method; the full representation is the default.
+ */
+public final class FieldSets {
+
+    public static final String SUMMARY = "summary";
+    public static final String FULL = "full";
+
+    private FieldSets() {
+    }
+
+    /** Called by the full-view handlers, which also receive any {@code fields} value not mapped elsewhere. */
+    public static void requireFull(String fields) {
+        if (fields != null && !FULL.equals(fields)) {
+            throw new InvalidInputException("fields must be " + SUMMARY + " or " + FULL);
+        }
+    }
+}
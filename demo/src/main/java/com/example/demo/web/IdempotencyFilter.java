@@ -0,0 +1,239 @@
+package com.example.demo.web;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.demo.exceptions.GlobalExceptionHandler.ErrorDetails;
+import com.example.demo.web.IdempotencyStore.Claim;
+import com.example.demo.web.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@code Idempotency-Key} handling for POST requests. The first request with a key runs and its
+ * response is stored; a retry with the same key and body gets the stored response back with
+ * {@code Idempotent-Replayed: true} and nothing runs again. A retry that arrives while the first
+ * request is still running gets 409, and one with a different body gets 422.
+ *
+ * <p>The body is fingerprinted with SHA-256 as the controller reads it, so it is never buffered.
+ * 5xx responses are not stored, which lets the client retry them.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int maxResponseBytes;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${api.idempotency.max-response-bytes:1048576}") int maxResponseBytes) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters", "invalid");
+            return;
+        }
+        String scope = request.getRequestURI() + " " + key;
+
+        Claim claim = store.claim(scope);
+        if (claim != null && claim.isInFlight()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(request, response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed", "in_flight");
+            return;
+        }
+        if (claim != null) {
+            DigestingRequest replay = new DigestingRequest(request);
+            if (!MessageDigest.isEqual(replay.fingerprint(), claim.response().fingerprint())) {
+                reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used with a different request body", "mismatch");
+                return;
+            }
+            replay(claim.response(), response);
+            count("replayed");
+            return;
+        }
+
+        DigestingRequest digesting = new DigestingRequest(request);
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(digesting, capturing);
+            if (!request.isAsyncStarted() && capturing.getStatus() < 500 && capturing.getContentSize() <= maxResponseBytes) {
+                store.complete(scope, new StoredResponse(digesting.fingerprint(), capturing.getStatus(),
+                        headers(capturing), capturing.getContentAsByteArray()));
+                stored = true;
+                count("stored");
+            }
+        } finally {
+            if (!stored) {
+                store.release(scope);
+            }
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private static Map<String, String> headers(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, response.getContentType());
+        }
+        return headers;
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message, String outcome)
+            throws IOException {
+        count(outcome);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorDetails(status.value(), message, "uri=" + request.getRequestURI()));
+    }
+
+    private void count(String outcome) {
+        Counter.builder("api.idempotency")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** Feeds every byte the application reads from the body into a SHA-256 digest. */
+    static final class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+        private ServletInputStream stream;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new DigestingInputStream(super.getInputStream(), digest);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() == null ? "UTF-8" : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        /** Reads whatever the application left unread, then returns the digest of the whole body. */
+        byte[] fingerprint() throws IOException {
+            ServletInputStream input = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (input.read(buffer) != -1) {
+                // digested as it is read
+            }
+            return digest.digest();
+        }
+    }
+
+    private static final class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final MessageDigest digest;
+
+        DigestingInputStream(ServletInputStream delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                digest.update(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
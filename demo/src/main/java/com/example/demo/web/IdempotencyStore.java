@@ -0,0 +1,98 @@
+package com.example.demo.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Responses stored per idempotency key. Completed responses live in a cache bounded by their size
+ * in bytes and expiring after the TTL. Keys whose first request is still running are held apart,
+ * so they are never evicted while a duplicate could slip through.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, StoredResponse> completed;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(@Value("${api.idempotency.max-store-bytes:67108864}") long maxStoreBytes,
+                            @Value("${api.idempotency.ttl:24h}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(maxStoreBytes)
+                .weigher((String key, StoredResponse response) -> key.length() * 2 + response.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    /**
+     * Claims the key for a first request. Returns {@code null} when the caller now owns the key,
+     * {@link Claim#inFlight()} when another request holds it, or the stored response.
+     */
+    public Claim claim(String key) {
+        StoredResponse stored = completed.getIfPresent(key);
+        if (stored != null) {
+            return Claim.completed(stored);
+        }
+        if (!inFlight.add(key)) {
+            return Claim.inFlight();
+        }
+        // The first request may have completed between the two lookups.
+        stored = completed.getIfPresent(key);
+        if (stored != null) {
+            inFlight.remove(key);
+            return Claim.completed(stored);
+        }
+        return null;
+    }
+
+    public void complete(String key, StoredResponse response) {
+        completed.put(key, response);
+        inFlight.remove(key);
+    }
+
+    /** Releases a claimed key without storing anything, so the next attempt runs again. */
+    public void release(String key) {
+        inFlight.remove(key);
+    }
+
+    public record Claim(StoredResponse response) {
+
+        private static final Claim IN_FLIGHT_CLAIM = new Claim(null);
+
+        static Claim completed(StoredResponse response) {
+            return new Claim(response);
+        }
+
+        static Claim inFlight() {
+            return IN_FLIGHT_CLAIM;
+        }
+
+        public boolean isInFlight() {
+            return response == null;
+        }
+    }
+
+    public record StoredResponse(byte[] fingerprint, int status, Map<String, String> headers, byte[] body) {
+
+        int weight() {
+            int weight = 64 + fingerprint.length + body.length;
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                weight += (header.getKey().length() + header.getValue().length()) * 2;
+            }
+            return weight;
+        }
+    }
+}
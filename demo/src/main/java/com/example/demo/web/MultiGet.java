@@ -0,0 +1,63 @@
+package com.example.demo.web;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.MultiGetResponse;
+import com.example.demo.exceptions.InvalidInputException;
+
+/**
+ * Shared handling of {@code ids=} requests on the list endpoints: checks and de-duplicates the ids,
+ * then lays the loaded entities out in request order.
+ */
+@Component
+public class MultiGet {
+
+    private final int maxIds;
+
+    public MultiGet(@Value("${api.multiget.max-ids:100}") int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    /** The requested ids without duplicates, in first-seen order. */
+    public List<Long> resolveIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidInputException("ids is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidInputException("ids must not contain empty values");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxIds) {
+            throw new InvalidInputException("A multi-get accepts at most " + maxIds + " ids");
+        }
+        return distinct;
+    }
+
+    public <T> MultiGetResponse<T> respond(List<Long> ids, Collection<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : found) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> items = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity == null) {
+                missing.add(id);
+            } else {
+                items.add(entity);
+            }
+        }
+        return new MultiGetResponse<>(items, missing);
+    }
+}
@@ -0,0 +1,128 @@
+-- Schema changes for the AuroraDelivery database (spring.jpa.hibernate.ddl-auto=none).
+-- Apply in order against SQL Server.
+
+-- Keyset pagination on GET /order seeks on (OrderDate, id).
+CREATE INDEX IX_Orders_OrderDate_Id ON Orders (OrderDate DESC, id DESC);
+GO
+
+-- Orders and OrderItems take their ids from pooled sequences so Hibernate can batch inserts
+-- (hibernate.jdbc.batch_size). IDENTITY can't be dropped in place on SQL Server, so both tables are
+-- rebuilt with a plain BIGINT primary key and swapped in. Run with the API stopped.
+CREATE SEQUENCE Orders_SEQ AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE OrderItems_SEQ AS BIGINT START WITH 1 INCREMENT BY 50;
+GO
+
+SET XACT_ABORT ON;
+BEGIN TRANSACTION;
+
+-- The copies keep each column's type; the CAST drops IDENTITY from id. OrderID follows id to BIGINT.
+SELECT CAST(id AS BIGINT) AS id, CustomerID, OrderDate, Total, Status
+INTO Orders_New
+FROM Orders WITH (TABLOCKX, HOLDLOCK);
+SELECT CAST(id AS BIGINT) AS id, CAST(OrderID AS BIGINT) AS OrderID, ProductID, Quantity, UnitPrice
+INTO OrderItems_New
+FROM OrderItems WITH (TABLOCKX, HOLDLOCK);
+ALTER TABLE Orders_New ALTER COLUMN id BIGINT NOT NULL;
+ALTER TABLE OrderItems_New ALTER COLUMN id BIGINT NOT NULL;
+ALTER TABLE OrderItems_New ALTER COLUMN OrderID BIGINT NOT NULL;
+
+-- Foreign keys on the old tables have generated names, so they are looked up.
+DECLARE @dropForeignKeys NVARCHAR(MAX) = N'';
+SELECT @dropForeignKeys += N'ALTER TABLE ' + QUOTENAME(OBJECT_SCHEMA_NAME(parent_object_id)) + N'.'
+        + QUOTENAME(OBJECT_NAME(parent_object_id)) + N' DROP CONSTRAINT ' + QUOTENAME(name) + N';'
+FROM sys.foreign_keys
+WHERE referenced_object_id IN (OBJECT_ID(N'Orders'), OBJECT_ID(N'OrderItems'))
+   OR parent_object_id IN (OBJECT_ID(N'Orders'), OBJECT_ID(N'OrderItems'));
+EXEC sp_executesql @dropForeignKeys;
+
+DROP TABLE OrderItems;
+DROP TABLE Orders;
+EXEC sp_rename N'Orders_New', N'Orders';
+EXEC sp_rename N'OrderItems_New', N'OrderItems';
+
+ALTER TABLE Orders ADD CONSTRAINT PK_Orders PRIMARY KEY (id);
+ALTER TABLE OrderItems ADD CONSTRAINT PK_OrderItems PRIMARY KEY (id);
+ALTER TABLE Orders ADD CONSTRAINT FK_Orders_Customer FOREIGN KEY (CustomerID) REFERENCES Customer (id);
+ALTER TABLE OrderItems ADD CONSTRAINT FK_OrderItems_Orders FOREIGN KEY (OrderID) REFERENCES Orders (id);
+ALTER TABLE OrderItems ADD CONSTRAINT FK_OrderItems_Product FOREIGN KEY (ProductID) REFERENCES Product (id);
+CREATE INDEX IX_OrderItems_OrderID ON OrderItems (OrderID);
+-- Dropped with the old table.
+CREATE INDEX IX_Orders_OrderDate_Id ON Orders (OrderDate DESC, id DESC);
+
+-- Hibernate's pooled optimizer reads each sequence value as the top of a block of 50 ids, so the
+-- first block must end 50 above the highest existing id.
+DECLARE @restart NVARCHAR(200);
+SELECT @restart = N'ALTER SEQUENCE Orders_SEQ RESTART WITH ' + CAST(ISNULL(MAX(id), 0) + 50 AS NVARCHAR(20)) FROM Orders;
+EXEC sp_executesql @restart;
+SELECT @restart = N'ALTER SEQUENCE OrderItems_SEQ RESTART WITH ' + CAST(ISNULL(MAX(id), 0) + 50 AS NVARCHAR(20)) FROM OrderItems;
+EXEC sp_executesql @restart;
+
+COMMIT TRANSACTION;
+GO
+
+-- Optimistic-locking versions; also the source of the ETag on GET /order/{id}, /product/{id}, /customers/{id}.
+ALTER TABLE Orders ADD Version BIGINT NOT NULL CONSTRAINT DF_Orders_Version DEFAULT 0;
+ALTER TABLE Product ADD version BIGINT NOT NULL CONSTRAINT DF_Product_Version DEFAULT 0;
+ALTER TABLE Customer ADD version BIGINT NOT NULL CONSTRAINT DF_Customer_Version DEFAULT 0;
+GO
+
+-- Sales rollups served by /analytics. No foreign keys: rows outlive deleted products and customers.
+-- Fill them once after deploying with POST /api/analytics/rollups/rebuild.
+CREATE TABLE ProductSalesDaily (
+    ProductID BIGINT NOT NULL,
+    SalesDate DATE NOT NULL,
+    Quantity BIGINT NOT NULL,
+    Revenue DECIMAL(19, 2) NOT NULL,
+    CONSTRAINT PK_ProductSalesDaily PRIMARY KEY (ProductID, SalesDate)
+);
+CREATE INDEX IX_ProductSalesDaily_SalesDate ON ProductSalesDaily (SalesDate, ProductID);
+CREATE TABLE CustomerSalesMonthly (
+    CustomerID BIGINT NOT NULL,
+    SalesMonth DATE NOT NULL,
+    OrderCount BIGINT NOT NULL,
+    Revenue DECIMAL(19, 2) NOT NULL,
+    CONSTRAINT PK_CustomerSalesMonthly PRIMARY KEY (CustomerID, SalesMonth)
+);
+CREATE INDEX IX_CustomerSalesMonthly_SalesMonth ON CustomerSalesMonthly (SalesMonth, CustomerID);
+GO
+
+-- Transactional outbox for order events. Ids are pooled in blocks of 50 like Orders_SEQ, so event inserts
+-- batch with the rest of the transaction. Ids are unique but do not follow commit order across instances.
+CREATE SEQUENCE OutboxEvents_SEQ AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE OutboxEvents (
+    id BIGINT NOT NULL CONSTRAINT PK_OutboxEvents PRIMARY KEY,
+    OrderID BIGINT NOT NULL,
+    EventType VARCHAR(50) NOT NULL,
+    Payload NVARCHAR(4000) NOT NULL,
+    CreatedAt DATETIME2 NOT NULL,
+    PublishedAt DATETIME2 NULL,
+    Attempts INT NOT NULL CONSTRAINT DF_OutboxEvents_Attempts DEFAULT 0
+);
+CREATE INDEX IX_OutboxEvents_Unpublished ON OutboxEvents (PublishedAt, id);
+GO
+
+-- Customer and product writes, polled by every API instance to evict its second-level cache,
+-- product catalog cache and search indexes. Rows older than app.cache.invalidation.retention are purged.
+CREATE SEQUENCE CacheInvalidations_SEQ AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE CacheInvalidations (
+    id BIGINT NOT NULL CONSTRAINT PK_CacheInvalidations PRIMARY KEY,
+    EntityType VARCHAR(20) NOT NULL,
+    EntityID BIGINT NOT NULL,
+    Origin VARCHAR(36) NOT NULL,
+    CreatedAt DATETIME2 NOT NULL
+);
+CREATE INDEX IX_CacheInvalidations_CreatedAt ON CacheInvalidations (CreatedAt);
+GO
+
+-- Order status is a closed set (OrderStatus, stored by name). Normalize existing values first; any row the
+-- constraint still rejects has to be fixed by hand before it can be added.
+UPDATE Orders SET Status = UPPER(LTRIM(RTRIM(Status)));
+GO
+ALTER TABLE Orders ADD CONSTRAINT CK_Orders_Status
+    CHECK (Status IN ('PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED'));
+-- Filters on GET /order, read in (OrderDate DESC, id DESC) order like the unfiltered page. The status index
+-- also serves the grouped count behind /order/status-counts; a customer's orders filtered by status are
+-- checked on the included column without key lookups.
+CREATE INDEX IX_Orders_Status_OrderDate_Id ON Orders (Status, OrderDate DESC, id DESC);
+CREATE INDEX IX_Orders_CustomerID_OrderDate_Id ON Orders (CustomerID, OrderDate DESC, id DESC) INCLUDE (Status);
+GO
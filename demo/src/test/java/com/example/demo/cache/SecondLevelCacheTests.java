@@ -0,0 +1,138 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entities.CacheInvalidation;
+import com.example.demo.entities.Customer;
+import com.example.demo.repositories.CacheInvalidationRepository;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.search.CustomerSearchIndex;
+import com.example.demo.search.ProductSearchIndex;
+import com.example.demo.services.ProductCatalogCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ SecondLevelCacheConfiguration.class, CacheInvalidationService.class, ProductCatalogCache.class,
+        CustomerSearchIndex.class, ProductSearchIndex.class, SecondLevelCacheTests.Metrics.class })
+// Commits for real: the second-level cache is only filled and invalidated around committed transactions.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Statistics statistics;
+    private Customer customer;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Cached Customer");
+        newCustomer.setAddress("Memory Lane 1");
+        customer = customerRepository.save(newCustomer);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        cacheInvalidationRepository.deleteAll();
+        customerRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        customerRepository.findById(customer.getId());
+        customerRepository.findById(customer.getId());
+        customerRepository.findVersionById(customer.getId());
+        customerRepository.findVersionById(customer.getId());
+
+        assertThat(statistics.getCacheRegionStatistics(SecondLevelCacheConfiguration.CUSTOMERS).getHitCount()).isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void anotherInstancesWriteIsEvictedOnTheNextPoll() {
+        customerRepository.findById(customer.getId());
+        customerRepository.findVersionById(customer.getId());
+
+        // Another instance renames the customer and records the write; this instance's cache still
+        // holds the old row.
+        new JdbcTemplate(dataSource).update("update Customer set name = 'Renamed Customer', version = version + 1 where id = ?",
+                customer.getId());
+        cacheInvalidationRepository.save(new CacheInvalidation(CacheInvalidation.Type.CUSTOMER, customer.getId(),
+                "other-instance", LocalDateTime.now()));
+        assertThat(customerRepository.findById(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("Cached Customer");
+
+        cacheInvalidationService.poll();
+
+        assertThat(customerRepository.findById(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("Renamed Customer");
+        assertThat(customerRepository.findVersionById(customer.getId())).contains(customer.getVersion() + 1);
+        assertThat(customerSearchIndex.search("renamed", 10)).hasSize(1);
+    }
+
+    @Test
+    void ownWritesAreNotReapplied() {
+        cacheInvalidationService.customerChanged(customer.getId());
+        customerRepository.findById(customer.getId());
+
+        cacheInvalidationService.poll();
+
+        assertThat(entityManagerFactory.getCache().contains(Customer.class, customer.getId())).isTrue();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+
+class MessageConverterConfigTests {
+
+    private final MessageConverterConfig config = new MessageConverterConfig();
+
+    @Test
+    void cborAndSmileRoundTripTheOrderGraphAndAreSmallerThanJson() throws Exception {
+        Order order = order(50);
+        byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(order);
+
+        for (AbstractJackson2HttpMessageConverter converter : List.of(
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))) {
+            MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(order, mediaType, output);
+            byte[] encoded = output.getBodyAsBytes();
+
+            MockHttpInputMessage input = new MockHttpInputMessage(encoded);
+            input.getHeaders().setContentType(mediaType);
+            Order decoded = (Order) converter.read(Order.class, input);
+
+            assertThat(encoded.length).as(mediaType.toString()).isLessThan(json.length);
+            assertThat(decoded.getCustomer().getName()).isEqualTo("Maria Souza");
+            assertThat(decoded.getOrderDate()).isEqualTo(order.getOrderDate());
+            assertThat(decoded.getOrderItems()).hasSize(50);
+            assertThat(decoded.getOrderItems().get(49).getOrder()).isSameAs(decoded);
+            assertThat(decoded.getOrderItems().get(49).getUnitPrice()).isEqualByComparingTo("20.48");
+        }
+    }
+
+    private Order order(int items) {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        customer.setName("Maria Souza");
+        customer.setAddress("Rua das Flores, 123");
+
+        Order order = new Order();
+        order.setId(1001L);
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.of(2024, 6, 1, 12, 30));
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(BigDecimal.ZERO);
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setId(10_000L + i);
+            item.setOrder(order);
+            item.setProduct(new Product((long) i, "Product " + i, "A reasonably descriptive product description", BigDecimal.valueOf(1999 + i, 2)));
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.valueOf(1999 + i, 2));
+            orderItems.add(item);
+        }
+        order.setOrderItems(orderItems);
+        return order;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two embedded databases stand in for the primary and the replica; each knows its own name, so a
+ * query shows where it was routed.
+ */
+class RoutingDataSourceTests {
+
+    private ReplicaHealth replicaHealth;
+    private RoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaHealth = new ReplicaHealth(Map.of("replica-0", replica), Duration.ofSeconds(1));
+        routing = new RoutingDataSource(primary, Map.of("replica-0", replica), replicaHealth);
+
+        DataSource dataSource = routing.lazy();
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+        replicaHealth.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        String read = reads.execute(status -> node());
+        String written = writes.execute(status -> node());
+
+        assertThat(read).isEqualTo("replica");
+        assertThat(written).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedReadsStayOnThePrimary() {
+        ReadYourWrites.pin();
+
+        String read = reads.execute(status -> node());
+
+        assertThat(read).isEqualTo("primary");
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToThePrimaryUntilItRecovers() {
+        Map<String, DataSource> replicas = Map.of("replica-0", unreachable());
+        ReplicaHealth failing = new ReplicaHealth(replicas, Duration.ofSeconds(1));
+        RoutingDataSource fallback = new RoutingDataSource(database("primary"), replicas, failing);
+        DataSource dataSource = fallback.lazy();
+        TransactionTemplate fallbackReads = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        fallbackReads.setReadOnly(true);
+        JdbcTemplate fallbackJdbc = new JdbcTemplate(dataSource);
+
+        failing.check();
+
+        String read = fallbackReads.execute(status -> fallbackJdbc.queryForObject("select name from node", String.class));
+
+        assertThat(failing.healthyReplicas()).isEmpty();
+        assertThat(read).isEqualTo("primary");
+    }
+
+    @Test
+    void readHeavyLoadMostlyLeavesThePrimaryAlone() {
+        for (int i = 0; i < 1_000; i++) {
+            TransactionTemplate transaction = i % 10 == 0 ? writes : reads;
+            transaction.executeWithoutResult(status -> node());
+        }
+
+        long primary = routing.connectionCount(RoutingDataSource.PRIMARY);
+        long replica = routing.connectionCount("replica-0");
+
+        assertThat(primary).isEqualTo(100);
+        assertThat(replica).isEqualTo(900);
+    }
+
+    private String node() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource unreachable() {
+        return new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.load.LoadDriver.Endpoint;
+import com.example.demo.load.LoadDriver.Stats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Drives a mixed read/write workload through the real {@code /api} endpoints of an application
+ * running on H2 (SQL Server mode) with a seeded dataset, and compares the results with
+ * {@code load-baseline.json}. Excluded from the default build; run with {@code ./mvnw -Pload-test test}.
+ *
+ * <p>{@code -Dloadtest.update-baseline=true} writes the run's results as the new baseline instead of
+ * comparing. Results of every run are written to {@code target/load-test/results.json}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(SyntheticDataSeeder.class)
+class ApiLoadTest {
+
+    private static final Path BASELINE = Path.of("src/test/resources/load-baseline.json");
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataSeeder dataset;
+
+    @Value("${loadtest.concurrency:32}")
+    private int concurrency;
+
+    @Value("${loadtest.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:30s}")
+    private Duration duration;
+
+    @Value("${loadtest.tolerance:0.25}")
+    private double tolerance;
+
+    @Value("${loadtest.max-error-rate:0.01}")
+    private double maxErrorRate;
+
+    @Value("${loadtest.update-baseline:false}")
+    private boolean updateBaseline;
+
+    @Test
+    void mixedWorkloadStaysWithinTheBaseline() throws Exception {
+        String api = "http://localhost:" + port + "/api";
+        String[] lastNames = SyntheticDataSeeder.lastNames();
+        String[] ingredients = SyntheticDataSeeder.ingredients();
+        String from = LocalDate.now().minusDays(30).toString();
+        String to = LocalDate.now().toString();
+
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("GET /order", 2, () -> LoadDriver.get(api + "/order?limit=50")),
+                new Endpoint("GET /order/{id}", 8, () -> LoadDriver.get(api + "/order/" + dataset.randomOrderId())),
+                new Endpoint("GET /product/{id}", 5, () -> LoadDriver.get(api + "/product/" + dataset.randomProductId())),
+                new Endpoint("GET /customers/search", 2, () -> LoadDriver.get(api + "/customers/search?q="
+                        + SyntheticDataSeeder.randomWord(lastNames).substring(0, 3))),
+                new Endpoint("GET /product/search", 2, () -> LoadDriver.get(api + "/product/search?q="
+                        + SyntheticDataSeeder.randomWord(ingredients))),
+                new Endpoint("GET /analytics/product-sales", 1, () -> LoadDriver.get(api + "/analytics/product-sales?from="
+                        + from + "&to=" + to + "&productId=" + dataset.randomProductId())),
+                new Endpoint("POST /order", 3, () -> LoadDriver.post(api + "/order", newOrder())),
+                new Endpoint("POST /orderItem", 1, () -> LoadDriver.post(api + "/orderItem", newItem())));
+
+        List<Stats> stats = new LoadDriver(concurrency, warmup, duration).run("loadtest", endpoints);
+
+        File results = new File("target/load-test/results.json");
+        results.getParentFile().mkdirs();
+        mapper.writeValue(results, stats);
+        System.out.println(mapper.writeValueAsString(stats));
+
+        if (updateBaseline) {
+            mapper.writeValue(BASELINE.toFile(), LoadBaseline.of("Recorded " + LocalDate.now() + " with loadtest.concurrency="
+                    + concurrency + ", warmup=" + warmup + ", duration=" + duration + " on " + machine(), stats, maxErrorRate));
+            return;
+        }
+        LoadBaseline baseline;
+        try (InputStream json = Files.newInputStream(BASELINE)) {
+            baseline = mapper.readValue(json, LoadBaseline.class);
+        }
+        assertThat(baseline.regressions(stats, tolerance)).isEmpty();
+    }
+
+    /** CPU model and count, heap and JVM, so a baseline says which machine its numbers hold for. */
+    private static String machine() {
+        String cpu = "unknown CPU";
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        if (Files.isReadable(cpuInfo)) {
+            try (Stream<String> lines = Files.lines(cpuInfo)) {
+                cpu = lines.filter(line -> line.startsWith("model name"))
+                        .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                        .findFirst()
+                        .orElse(cpu);
+            } catch (IOException ex) {
+                // Keep "unknown CPU"; the rest of the description still identifies the run.
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return cpu + ", " + runtime.availableProcessors() + " CPUs, " + runtime.maxMemory() / (1024 * 1024) + " MB max heap, "
+                + System.getProperty("os.name") + " " + System.getProperty("os.version") + ", Java " + System.getProperty("java.version")
+                + " (" + System.getProperty("java.vm.name") + ")";
+    }
+
+    private String newOrder() {
+        StringBuilder json = new StringBuilder()
+                .append("{\"customer\":{\"id\":").append(dataset.randomCustomerId())
+                .append("},\"status\":\"PENDING\",\"orderItems\":[");
+        int items = dataset.randomItemCount();
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(item(dataset.randomProductId()));
+        }
+        return json.append("]}").toString();
+    }
+
+    private String newItem() {
+        String item = item(dataset.randomProductId());
+        return "{\"OrderId\":" + dataset.randomOrderId() + "," + item.substring(1);
+    }
+
+    private static String item(long productId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"product\":{\"id\":" + productId + "},\"quantity\":" + random.nextInt(1, 5)
+                + ",\"unitPrice\":" + random.nextInt(5, 90) + ".90}";
+    }
+}
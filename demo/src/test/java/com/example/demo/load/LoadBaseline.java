@@ -0,0 +1,54 @@
+package com.example.demo.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Committed per-endpoint expectations for {@link ApiLoadTest}. A run regresses when an endpoint's
+ * throughput falls or its p99 rises by more than the tolerance, or its error rate exceeds the limit.
+ */
+public record LoadBaseline(String description, List<Limit> endpoints) {
+
+    public record Limit(String endpoint, double throughputPerSecond, double p99Millis, double maxErrorRate) {
+    }
+
+    public static LoadBaseline of(String description, List<LoadDriver.Stats> stats, double maxErrorRate) {
+        return new LoadBaseline(description, stats.stream()
+                .map(stat -> new Limit(stat.endpoint(), round(stat.throughputPerSecond()), round(stat.p99Millis()), maxErrorRate))
+                .toList());
+    }
+
+    /** Returns one message per regression; empty when the run is within the baseline. */
+    public List<String> regressions(List<LoadDriver.Stats> stats, double tolerance) {
+        Map<String, LoadDriver.Stats> byEndpoint = stats.stream()
+                .collect(Collectors.toMap(LoadDriver.Stats::endpoint, Function.identity()));
+        List<String> regressions = new ArrayList<>();
+        for (Limit limit : endpoints) {
+            LoadDriver.Stats stat = byEndpoint.get(limit.endpoint());
+            if (stat == null || stat.requests() == 0) {
+                regressions.add(limit.endpoint() + ": no requests measured");
+                continue;
+            }
+            double minThroughput = limit.throughputPerSecond() * (1 - tolerance);
+            if (stat.throughputPerSecond() < minThroughput) {
+                regressions.add(String.format("%s: throughput %.1f/s below %.1f/s", limit.endpoint(), stat.throughputPerSecond(), minThroughput));
+            }
+            double maxP99 = limit.p99Millis() * (1 + tolerance);
+            if (stat.p99Millis() > maxP99) {
+                regressions.add(String.format("%s: p99 %.1f ms above %.1f ms", limit.endpoint(), stat.p99Millis(), maxP99));
+            }
+            double errorRate = (double) stat.errors() / stat.requests();
+            if (errorRate > limit.maxErrorRate()) {
+                regressions.add(String.format("%s: error rate %.4f above %.4f", limit.endpoint(), errorRate, limit.maxErrorRate()));
+            }
+        }
+        return regressions;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} workers each send a request, wait for the
+ * response and send the next one, picking endpoints by weight. Reports throughput and latency
+ * percentiles per endpoint.
+ *
+ * <p>Standalone use against a running instance:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.demo.load.LoadDriver \
+ *     -Dexec.args="--base-url=http://localhost:8080/api --concurrency=400 --duration=60s --label=virtual"
+ * </pre>
+ */
+public final class LoadDriver {
+
+    public record Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    public record Stats(String label, String endpoint, long requests, long errors, double throughputPerSecond,
+                        double p50Millis, double p99Millis, double p999Millis) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadDriver(int concurrency, Duration warmup, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public List<Stats> run(String label, List<Endpoint> endpoints) throws Exception {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> drive(endpoints, totalWeight, measureFrom, deadline)));
+        }
+
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> merged.put(endpoint.name(), new Samples()));
+        for (Future<Map<String, Samples>> future : futures) {
+            future.get().forEach((name, samples) -> merged.get(name).addAll(samples));
+        }
+        workers.shutdown();
+
+        double seconds = duration.toNanos() / 1e9;
+        List<Stats> stats = new ArrayList<>();
+        merged.forEach((name, samples) -> stats.add(samples.toStats(label, name, seconds)));
+        return stats;
+    }
+
+    private Map<String, Samples> drive(List<Endpoint> endpoints, int totalWeight, long measureFrom, long deadline) {
+        Map<String, Samples> samples = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = pick(endpoints, totalWeight);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(endpoint.request().get(), HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (IOException ex) {
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom) {
+                samples.computeIfAbsent(endpoint.name(), name -> new Samples()).add(end - start, ok);
+            }
+        }
+        return samples;
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    public static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    public static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        Stats toStats(String label, String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Stats(label, endpoint, size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/api");
+        int maxOrderId = Integer.parseInt(options.getOrDefault("max-order-id", "1000"));
+        int maxProductId = Integer.parseInt(options.getOrDefault("max-product-id", "100"));
+
+        LoadDriver driver = new LoadDriver(
+                Integer.parseInt(options.getOrDefault("concurrency", "200")),
+                Duration.parse("PT" + options.getOrDefault("warmup", "10s").toUpperCase()),
+                Duration.parse("PT" + options.getOrDefault("duration", "60s").toUpperCase()));
+
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("GET /order", 2, () -> get(baseUrl + "/order?limit=50")),
+                new Endpoint("GET /order/{id}", 4, () -> get(baseUrl + "/order/" + randomId(maxOrderId))),
+                new Endpoint("GET /product", 2, () -> get(baseUrl + "/product?limit=50")),
+                new Endpoint("GET /product/{id}", 4, () -> get(baseUrl + "/product/" + randomId(maxProductId))));
+
+        List<Stats> stats = driver.run(options.getOrDefault("label", "run"), endpoints);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (options.containsKey("out")) {
+            mapper.writeValue(new File(options.get("out")), stats);
+        }
+        System.out.println(mapper.writeValueAsString(stats));
+        System.exit(0);
+    }
+
+    private static long randomId(int max) {
+        return ThreadLocalRandom.current().nextLong(1, max + 1);
+    }
+}
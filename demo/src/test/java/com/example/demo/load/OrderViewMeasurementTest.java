@@ -0,0 +1,116 @@
+package com.example.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.load.LoadDriver.Stats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Measures what {@code fields=summary} saves on a 1,000-order page of {@code GET /order}: response
+ * bytes, plain and gzipped, and request latency. Requests run one at a time, alternating between
+ * the views, so both see the same database and JIT state. Results go to
+ * {@code target/load-test/order-views.json}; run with {@code ./mvnw -Pload-test test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(SyntheticDataSeeder.class)
+class OrderViewMeasurementTest {
+
+    private static final int PAGE = 1000;
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.views.warmup-requests:20}")
+    private int warmupRequests;
+
+    @Value("${loadtest.views.requests:100}")
+    private int requests;
+
+    record ViewResult(String view, long bytes, long gzipBytes, Stats latency) {
+    }
+
+    @Test
+    void summaryPageIsSmallerAndFaster() throws Exception {
+        String api = "http://localhost:" + port + "/api/order?limit=" + PAGE;
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put("full", api);
+        urls.put("summary", api + "&fields=summary");
+
+        Map<String, LoadDriver.Samples> samples = new LinkedHashMap<>();
+        Map<String, Long> busyNanos = new LinkedHashMap<>();
+        urls.keySet().forEach(view -> samples.put(view, new LoadDriver.Samples()));
+        for (int i = 0; i < warmupRequests + requests; i++) {
+            for (Map.Entry<String, String> url : urls.entrySet()) {
+                long started = System.nanoTime();
+                HttpResponse<byte[]> response = send(url.getValue(), false);
+                long elapsed = System.nanoTime() - started;
+                if (i >= warmupRequests) {
+                    samples.get(url.getKey()).add(elapsed, response.statusCode() == 200);
+                    busyNanos.merge(url.getKey(), elapsed, Long::sum);
+                }
+            }
+        }
+
+        List<ViewResult> results = urls.entrySet().stream()
+                .map(url -> new ViewResult(url.getKey(), bytes(url.getValue(), false), bytes(url.getValue(), true),
+                        samples.get(url.getKey()).toStats("order-views", "GET /order?limit=" + PAGE + " (" + url.getKey() + ")",
+                                busyNanos.get(url.getKey()) / 1e9)))
+                .toList();
+
+        File output = new File("target/load-test/order-views.json");
+        output.getParentFile().mkdirs();
+        mapper.writeValue(output, results);
+        System.out.println(mapper.writeValueAsString(results));
+
+        ViewResult full = results.get(0);
+        ViewResult summary = results.get(1);
+        System.out.printf("fields=summary saves %d bytes (%.0f%%), %d gzipped bytes, %.1f ms at p50%n",
+                full.bytes() - summary.bytes(), 100.0 * (full.bytes() - summary.bytes()) / full.bytes(),
+                full.gzipBytes() - summary.gzipBytes(), full.latency().p50Millis() - summary.latency().p50Millis());
+
+        assertThat(full.latency().errors()).isZero();
+        assertThat(summary.latency().errors()).isZero();
+        assertThat(summary.bytes()).isLessThan(full.bytes());
+        assertThat(summary.latency().p50Millis()).isLessThan(full.latency().p50Millis());
+    }
+
+    private long bytes(String url, boolean gzip) {
+        return send(url, gzip).body().length;
+    }
+
+    private HttpResponse<byte[]> send(String url, boolean gzip) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (Exception ex) {
+            throw new IllegalStateException("GET " + url + " failed", ex);
+        }
+    }
+}
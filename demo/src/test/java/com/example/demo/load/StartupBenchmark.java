@@ -0,0 +1,133 @@
+package com.example.demo.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Time from launching the application to its first successful response, over several cold starts.
+ * Each run starts a fresh JVM, polls {@code path} until it answers {@code 2xx} and stops the JVM.
+ *
+ * <p>Compare a plain build with the fast-startup one (both need the database the app points at):
+ * <pre>
+ * ./mvnw package
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.demo.load.StartupBenchmark \
+ *     -Dexec.args="--jar=target/AuroraDeliveryAPI-0.0.1-SNAPSHOT.jar --label=plain"
+ *
+ * ./mvnw -Pfast-startup package
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.demo.load.StartupBenchmark \
+ *     -Dexec.args="--jar=target/cds/AuroraDeliveryAPI-0.0.1-SNAPSHOT.jar --label=aot-cds \
+ *         --jvm-args='-XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod'"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    public record Result(String label, int runs, double minMillis, double medianMillis, double maxMillis, List<Double> runMillis) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private final List<String> command;
+    private final URI probe;
+    private final Duration timeout;
+
+    public StartupBenchmark(String jar, List<String> jvmArgs, int port, String path, Duration timeout) {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        this.command = List.copyOf(command);
+        this.probe = URI.create("http://localhost:" + port + path);
+        this.timeout = timeout;
+    }
+
+    public Result run(String label, int runs) throws Exception {
+        double[] millis = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstResponse() / 1e6;
+            System.out.printf("%s run %d: %.0f ms%n", label, i + 1, millis[i]);
+        }
+        double[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        return new Result(label, runs, sorted[0], sorted[runs / 2], sorted[runs - 1], Arrays.stream(millis).boxed().toList());
+    }
+
+    private long timeToFirstResponse() throws Exception {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " before answering " + probe);
+                }
+                if (succeeds()) {
+                    return System.nanoTime() - start;
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response from " + probe + " within " + timeout);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean succeeds() throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException notListeningYet) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String jvmArgs = options.getOrDefault("jvm-args", "").replace("'", "").trim();
+
+        StartupBenchmark benchmark = new StartupBenchmark(
+                options.getOrDefault("jar", "target/AuroraDeliveryAPI-0.0.1-SNAPSHOT.jar"),
+                jvmArgs.isEmpty() ? List.of() : List.of(jvmArgs.split("\\s+")),
+                Integer.parseInt(options.getOrDefault("port", "18080")),
+                options.getOrDefault("path", "/api/actuator/health/readiness"),
+                Duration.parse("PT" + options.getOrDefault("timeout", "120s").toUpperCase()));
+
+        Result result = benchmark.run(options.getOrDefault("label", "run"), Integer.parseInt(options.getOrDefault("runs", "5")));
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (options.containsKey("out")) {
+            mapper.writeValue(new File(options.get("out")), result);
+        }
+        System.out.println(mapper.writeValueAsString(result));
+        System.exit(0);
+    }
+}
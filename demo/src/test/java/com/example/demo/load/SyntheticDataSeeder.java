@@ -0,0 +1,185 @@
+package com.example.demo.load;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import com.example.demo.dto.BulkOrderResponse;
+import com.example.demo.dto.BulkOrderResult;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.ProductRepository;
+import com.example.demo.services.OrderBulkService;
+
+/**
+ * Fills the empty load-test database with a reproducible synthetic dataset. It runs as an
+ * {@link ApplicationRunner}, i.e. before the application reports ready, so the search indexes load
+ * the seeded rows. Sizes come from {@code loadtest.seed.*}.
+ *
+ * <p>Item counts per order follow a geometric-like distribution: most orders have a handful of
+ * items, a few have many.
+ */
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Gabriela", "Hugo",
+            "Isabela", "Joao", "Larissa", "Marcos", "Natalia", "Otavio", "Paula", "Rafael", "Sofia", "Tiago" };
+    private static final String[] LAST_NAMES = { "Almeida", "Barbosa", "Costa", "Dias", "Ferreira", "Gomes", "Lima",
+            "Martins", "Oliveira", "Pereira", "Rocha", "Santos", "Silva", "Souza" };
+    private static final String[] DISHES = { "Pizza", "Burger", "Salad", "Pasta", "Sushi", "Taco", "Curry", "Soup",
+            "Wrap", "Risotto", "Ramen", "Pie" };
+    private static final String[] INGREDIENTS = { "cheese", "tomato", "basil", "chicken", "beef", "mushroom", "onion",
+            "pepper", "salmon", "rice", "garlic", "spinach", "bacon", "corn" };
+    private static final OrderStatus[] STATUSES = { OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED };
+    private static final int CHUNK = 5_000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Value("${loadtest.seed.customers:2000}")
+    private int customers;
+
+    @Value("${loadtest.seed.products:500}")
+    private int products;
+
+    @Value("${loadtest.seed.orders:20000}")
+    private int orders;
+
+    @Value("${loadtest.seed.mean-items-per-order:3}")
+    private double meanItems;
+
+    @Value("${loadtest.seed.max-items-per-order:40}")
+    private int maxItems;
+
+    @Value("${loadtest.seed.random-seed:42}")
+    private long randomSeed;
+
+    private long[] customerIds;
+    private long[] productIds;
+    private long[] orderIds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+
+        List<Customer> newCustomers = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            Customer customer = new Customer();
+            customer.setName(first + " " + last);
+            customer.setEmail((first + "." + last + i).toLowerCase() + "@example.com");
+            customer.setPhone(String.format("+55119%08d", random.nextInt(100_000_000)));
+            customer.setAddress("Rua " + pick(random, LAST_NAMES) + ", " + random.nextInt(1, 2000));
+            newCustomers.add(customer);
+        }
+        customerIds = customerRepository.saveAll(newCustomers).stream().mapToLong(Customer::getId).toArray();
+
+        List<Product> newProducts = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String dish = pick(random, DISHES);
+            String name = dish + " " + pick(random, INGREDIENTS) + " " + (i + 1);
+            String description = dish + " with " + pick(random, INGREDIENTS) + ", " + pick(random, INGREDIENTS)
+                    + " and " + pick(random, INGREDIENTS);
+            newProducts.add(new Product(null, name, description, BigDecimal.valueOf(random.nextInt(500, 9_000), 2)));
+        }
+        List<Product> savedProducts = productRepository.saveAll(newProducts);
+        productIds = savedProducts.stream().mapToLong(Product::getId).toArray();
+
+        List<Long> created = new ArrayList<>(orders);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < orders; from += CHUNK) {
+            List<Order> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(from + CHUNK, orders); i++) {
+                chunk.add(order(random, savedProducts, now.minusMinutes(random.nextInt(365 * 24 * 60))));
+            }
+            BulkOrderResponse response = orderBulkService.ingest(chunk);
+            response.results().stream().map(BulkOrderResult::id).filter(id -> id != null).forEach(created::add);
+        }
+        orderIds = created.stream().mapToLong(Long::longValue).toArray();
+
+        log.info("Seeded {} customers, {} products and {} orders in {} ms", customerIds.length, productIds.length,
+                orderIds.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public long randomCustomerId() {
+        return customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+    }
+
+    public long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    public long randomOrderId() {
+        return orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+    }
+
+    public int randomItemCount() {
+        return itemCount(ThreadLocalRandom.current().nextDouble());
+    }
+
+    public static String randomWord(String[] words) {
+        return words[ThreadLocalRandom.current().nextInt(words.length)];
+    }
+
+    public static String[] lastNames() {
+        return LAST_NAMES.clone();
+    }
+
+    public static String[] ingredients() {
+        return INGREDIENTS.clone();
+    }
+
+    private Order order(SplittableRandom random, List<Product> catalog, LocalDateTime orderDate) {
+        Customer customer = new Customer();
+        customer.setId(customerIds[random.nextInt(customerIds.length)]);
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(pick(random, STATUSES));
+        int items = itemCount(random.nextDouble());
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Product product = catalog.get(random.nextInt(catalog.size()));
+            OrderItem item = new OrderItem();
+            item.setProduct(new Product(product.getId(), null, null, null));
+            item.setQuantity(random.nextInt(1, 5));
+            item.setUnitPrice(product.getPrice());
+            orderItems.add(item);
+        }
+        order.setOrderItems(orderItems);
+        return order;
+    }
+
+    /** 1 plus an exponentially distributed count with the configured mean, capped at the maximum. */
+    private int itemCount(double uniform) {
+        int extra = (int) (-Math.log(1 - uniform) * (meanItems - 1));
+        return Math.min(maxItems, 1 + extra);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.dto.OrderEvent;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderEventType;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.OutboxEvent;
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.OutboxEventRepository;
+import com.example.demo.services.OrderService;
+import com.example.demo.services.OrderStatusCountService;
+import com.example.demo.services.OrderStatusService;
+import com.example.demo.services.SalesRollupService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ OrderService.class, OrderStatusService.class, OrderStatusCountService.class, SalesRollupService.class, OutboxService.class })
+class OutboxDispatcherTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<OrderEvent> delivered = new ArrayList<>();
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Outbox");
+        newCustomer.setAddress("Queue Lane 2");
+        customer = entityManager.persist(newCustomer);
+        product = entityManager.persist(new Product(null, "Pizza", "Margherita", BigDecimal.TEN));
+    }
+
+    @Test
+    void writesAreRecordedAndPublishedInOrder() {
+        Order order = orderService.createOrder(order());
+        OrderItem item = orderService.createOrderItem(itemOf(order, 2));
+        orderService.updateOrderItem(item.getId(), itemOf(order, 3));
+        entityManager.flush();
+        orderStatusService.changeStatus(order.getId(), OrderStatus.CONFIRMED, null);
+
+        dispatcher(2, delivered::addAll).dispatch();
+
+        assertThat(delivered).extracting(OrderEvent::type).containsExactly(
+                OrderEventType.ORDER_CREATED, OrderEventType.ORDER_ITEM_ADDED,
+                OrderEventType.ORDER_ITEM_UPDATED, OrderEventType.ORDER_STATUS_CHANGED);
+        assertThat(delivered).extracting(OrderEvent::orderId).containsOnly(order.getId());
+        assertThat(delivered.get(2).payload()).contains("\"quantity\":3");
+        assertThat(delivered.get(3).payload()).contains("\"from\":\"PENDING\"", "\"to\":\"CONFIRMED\"");
+        assertThat(outboxEventRepository.countByPublishedAtIsNull()).isZero();
+        assertThat(meterRegistry.get("outbox.published").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedBatchIsRetriedAndNothingBehindItIsPublished() {
+        Order first = orderService.createOrder(order());
+        Order second = orderService.createOrder(order());
+        List<Boolean> failNext = new ArrayList<>(List.of(true));
+        OutboxDispatcher dispatcher = dispatcher(1, events -> {
+            if (!failNext.isEmpty() && failNext.remove(0)) {
+                throw new IllegalStateException("sink down");
+            }
+            delivered.addAll(events);
+        });
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).isEmpty();
+        assertThat(outboxEventRepository.countByPublishedAtIsNull()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.pending").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.dispatch.failures").counter().count()).isEqualTo(1);
+
+        dispatcher.dispatch();
+
+        assertThat(delivered).extracting(OrderEvent::orderId).containsExactly(first.getId(), second.getId());
+        entityManager.clear();
+        assertThat(outboxEventRepository.findAll(Sort.by("id"))).extracting(OutboxEvent::getAttempts).containsExactly(1, 0);
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, OutboxSink sink) {
+        return new OutboxDispatcher(outboxEventRepository, transactionManager, List.of(sink), meterRegistry,
+                batchSize, Duration.ofDays(7));
+    }
+
+    private Order order() {
+        Customer reference = new Customer();
+        reference.setId(customer.getId());
+        Order order = new Order();
+        order.setCustomer(reference);
+        order.setStatus(OrderStatus.PENDING);
+        order.setOrderItems(new ArrayList<>());
+        return order;
+    }
+
+    private OrderItem itemOf(Order order, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setOrderId(order.getId());
+        item.setProduct(new Product(product.getId(), null, null, null));
+        item.setQuantity(quantity);
+        item.setUnitPrice(BigDecimal.TEN);
+        return item;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.example.demo.dto.OrderEvent;
+import com.example.demo.entities.OrderEventType;
+import com.sun.net.httpserver.HttpServer;
+
+class WebhookOutboxSinkTests {
+
+    private final AtomicReference<String> received = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(204);
+    private HttpServer stub;
+    private WebhookOutboxSink sink;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/events", exchange -> {
+            received.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        stub.start();
+        sink = new WebhookOutboxSink(RestClient.builder(), "http://localhost:" + stub.getAddress().getPort() + "/events",
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void postsTheBatchAsJsonWithRawPayloads() {
+        sink.publish(List.of(new OrderEvent(7, OrderEventType.ORDER_CREATED, 42, LocalDateTime.of(2024, 3, 14, 18, 30),
+                "{\"orderId\":42}")));
+
+        assertThat(received.get())
+                .contains("\"type\":\"ORDER_CREATED\"", "\"orderId\":42", "\"payload\":{\"orderId\":42}", "2024-03-14T18:30:00");
+    }
+
+    @Test
+    void serverErrorFailsTheBatch() {
+        status.set(503);
+
+        assertThatThrownBy(() -> sink.publish(List.of(new OrderEvent(1, OrderEventType.ORDER_DELETED, 1, LocalDateTime.now(), "{}"))))
+                .isInstanceOf(RestClientException.class);
+    }
+}
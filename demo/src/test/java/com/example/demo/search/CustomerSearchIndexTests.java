@@ -0,0 +1,99 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.CustomerMatch;
+import com.example.demo.entities.Customer;
+
+class CustomerSearchIndexTests {
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSearchIndex(20_000);
+        index.put(customer(1L, "José Álvarez", "jose.alvarez@example.com", "(555) 010-2000"));
+        index.put(customer(2L, "Joseph Smith", "jsmith@mail.test", "555-010-3000"));
+        index.put(customer(3L, "Anna Jones", "anna@example.com", null));
+    }
+
+    @Test
+    void shortQueriesMatchTokenPrefixes() {
+        assertThat(ids(index.search("jo", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("s", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void longerQueriesMatchSubstringsAndRankPrefixesFirst() {
+        index.put(customer(4L, "Maria Dejose", null, null));
+
+        assertThat(ids(index.search("mith", 10))).containsExactly(2L);
+        assertThat(ids(index.search("jose", 10))).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void matchingIgnoresCaseAndAccentsAndNeedsEveryWord() {
+        assertThat(ids(index.search("ALVAREZ", 10))).containsExactly(1L);
+        assertThat(ids(index.search("jo alv", 10))).containsExactly(1L);
+        assertThat(index.search("anna smith", 10)).isEmpty();
+    }
+
+    @Test
+    void phoneQueriesIgnoreFormatting() {
+        assertThat(ids(index.search("555 010", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("0103000", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleImmediately() {
+        index.put(customer(3L, "Anna Berg", "anna@example.com", null));
+        index.remove(2L);
+
+        assertThat(ids(index.search("berg", 10))).containsExactly(3L);
+        assertThat(index.search("jones", 10)).isEmpty();
+        assertThat(index.search("smith", 10)).isEmpty();
+    }
+
+    @Test
+    void loadingNeverOverridesNewerWrites() {
+        index.beginLoad();
+        index.remove(1L);
+        Customer newer = customer(3L, "Anna Berg", "anna@example.com", null);
+        newer.setVersion(2L);
+        index.put(newer);
+        index.load(List.of(customer(1L, "José Álvarez", "jose.alvarez@example.com", null),
+                customer(3L, "Anna Jones", "anna@example.com", null)));
+        index.endLoad();
+
+        assertThat(index.search("alvarez", 10)).isEmpty();
+        assertThat(ids(index.search("berg", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void resultsAreCappedAtTheLimit() {
+        for (long id = 10; id < 1_000; id++) {
+            index.put(customer(id, "Customer " + id, null, null));
+        }
+
+        assertThat(index.search("customer", 5)).hasSize(5);
+    }
+
+    private static List<Long> ids(List<CustomerMatch> matches) {
+        return matches.stream().map(CustomerMatch::id).toList();
+    }
+
+    private static Customer customer(Long id, String name, String email, String phone) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setPhone(phone);
+        customer.setVersion(1L);
+        return customer;
+    }
+}
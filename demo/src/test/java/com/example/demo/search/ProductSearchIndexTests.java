@@ -0,0 +1,82 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.ProductMatch;
+import com.example.demo.entities.Product;
+
+class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(100_000, 50);
+        index.put(new Product(1L, "Margherita Pizza", "Tomato, mozzarella and basil", new BigDecimal("9.50")));
+        index.put(new Product(2L, "Crème Brûlée", "Vanilla custard with caramelized sugar", new BigDecimal("6.00")));
+        index.put(new Product(3L, "Garlic Bread", "Toasted bread with garlic butter; great with pizza", new BigDecimal("4.00")));
+        index.put(new Product(4L, "Pepperoni Pizza", "Tomato, mozzarella and pepperoni", new BigDecimal("11.00")));
+    }
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        List<Long> ids = ids(index.search("pizza", null, null, 10));
+
+        assertThat(ids).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(ids.get(2)).isEqualTo(3L);
+    }
+
+    @Test
+    void queriesIgnoreCaseAndAccentsAndNeedEveryWord() {
+        assertThat(ids(index.search("CREME brulee", null, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("tomato pepperoni", null, null, 10))).containsExactly(4L);
+        assertThat(index.search("tomato sugar", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void lastWordMatchesAsPrefix() {
+        assertThat(ids(index.search("tomato mozz", null, null, 10))).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.search("mozz tomato", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void priceRangeFiltersResults() {
+        assertThat(ids(index.search("pizza", new BigDecimal("5"), new BigDecimal("10"), 10))).containsExactly(1L);
+        assertThat(ids(index.search("pizza", new BigDecimal("10.50"), null, 10))).containsExactly(4L);
+    }
+
+    @Test
+    void writesAreVisibleImmediately() {
+        index.put(new Product(3L, "Garlic Knots", "Knotted dough with garlic", new BigDecimal("4.00")));
+        index.remove(4L);
+
+        assertThat(ids(index.search("pizza", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("knots", null, null, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void compactionKeepsLiveProductsAndTheirRanking() {
+        List<ProductMatch> before = index.search("pizza", null, null, 10);
+        // The 10,000th retired version triggers compaction.
+        for (int i = 0; i <= 10_000; i++) {
+            index.put(new Product(5L, "Tiramisu " + i, "Coffee and mascarpone", new BigDecimal("5.00")));
+        }
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.vocabularySize()).isLessThan(100);
+        assertThat(ids(index.search("tiramisu", null, null, 10))).containsExactly(5L);
+        assertThat(index.search("tiramisu 9999", null, null, 10)).isEmpty();
+        assertThat(index.search("pizza", null, null, 10)).extracting(ProductMatch::id)
+                .containsExactlyElementsOf(ids(before));
+    }
+
+    private static List<Long> ids(List<ProductMatch> matches) {
+        return matches.stream().map(ProductMatch::id).toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.ProductRepository;
+
+class SearchIndexLoaderTests {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CustomerSearchIndex customerSearchIndex = new CustomerSearchIndex(20_000);
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex(100_000, 50);
+    private final SearchIndexLoader loader = new SearchIndexLoader(customerRepository, customerSearchIndex,
+            productRepository, productSearchIndex, 100, 100, Duration.ofSeconds(30));
+
+    @Test
+    void failedLoadLeavesTheIndexNotReadyUntilARetrySucceeds() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("José Álvarez");
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Unable to acquire JDBC Connection"))
+                .thenReturn(List.of(customer));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(new Product(1L, "Margherita Pizza", "Tomato and mozzarella", new BigDecimal("9.50"))));
+
+        loader.loadPending();
+
+        assertThat(customerSearchIndex.isReady()).isFalse();
+        assertThat(productSearchIndex.isReady()).isTrue();
+
+        loader.loadPending();
+
+        assertThat(customerSearchIndex.isReady()).isTrue();
+        assertThat(customerSearchIndex.search("jose", 10)).hasSize(1);
+        // A ready index is not loaded again.
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+}
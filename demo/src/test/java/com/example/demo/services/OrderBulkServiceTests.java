@@ -0,0 +1,130 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.BulkOrderResponse;
+import com.example.demo.dto.BulkOrderResult;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.OrderRepository;
+import com.example.demo.repositories.ProductRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ OrderBulkService.class, SalesRollupService.class, OrderStatusCountService.class, OutboxService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderBulkServiceTests {
+
+    private static final int ORDERS = 1000;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Wholesale");
+        newCustomer.setAddress("Warehouse 1");
+        customer = customerRepository.save(newCustomer);
+        product = productRepository.save(new Product(null, "Pizza", "Margherita", BigDecimal.TEN));
+    }
+
+    @Test
+    void bulkPathNeedsAtLeastTenTimesFewerStatementsThanSingleOrderPath() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        for (Order order : newOrders(ORDERS)) {
+            orderRepository.save(order);
+        }
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        BulkOrderResponse response = orderBulkService.ingest(newOrders(ORDERS));
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertThat(response.created()).isEqualTo(ORDERS);
+        assertThat(response.failed()).isZero();
+        // An in-memory database hides network latency, so round trips (statements) are what we compare.
+        assertThat(singleStatements).isGreaterThanOrEqualTo(bulkStatements * 10);
+    }
+
+    @Test
+    void failingRecordsAreReportedWithoutLosingTheRestOfTheBatch() {
+        List<Order> orders = newOrders(4);
+        orders.get(1).setCustomer(null);
+        orders.get(2).getOrderItems().get(0).setProduct(new Product(Long.MAX_VALUE, null, null, null));
+
+        BulkOrderResponse response = orderBulkService.ingest(orders);
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.results()).extracting(BulkOrderResult::status).containsExactly(
+                BulkOrderResult.Status.CREATED,
+                BulkOrderResult.Status.FAILED,
+                BulkOrderResult.Status.FAILED,
+                BulkOrderResult.Status.CREATED);
+        assertThat(orderRepository.findById(response.results().get(3).id())).isPresent();
+    }
+
+    private List<Order> newOrders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            order.setTotal(BigDecimal.valueOf(30));
+            order.setStatus(OrderStatus.PENDING);
+            List<OrderItem> items = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.TEN);
+                items.add(item);
+            }
+            order.setOrderItems(items);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
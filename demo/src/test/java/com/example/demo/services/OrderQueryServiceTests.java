@@ -0,0 +1,191 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.dto.OrderFilter;
+import com.example.demo.dto.OrderSummary;
+import com.example.demo.dto.OrderVersions;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.pagination.KeysetCursor;
+import com.example.demo.repositories.OrderRepository;
+import com.example.demo.web.EntityTags;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(OrderQueryService.class)
+class OrderQueryServiceTests {
+
+    private static final int ORDERS = 20;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<Customer> customers = new ArrayList<>();
+    private Long firstOrderId;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 4; i++) {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setAddress("Street " + i);
+            customers.add(entityManager.persist(customer));
+        }
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            products.add(entityManager.persist(new Product(null, "Product " + i, "Description " + i, BigDecimal.TEN)));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setCustomer(customers.get(i % customers.size()));
+            order.setTotal(BigDecimal.valueOf(30));
+            order.setOrderDate(START.plusHours(i));
+            order.setStatus(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.CONFIRMED);
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(products.get((i + j) % products.size()));
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.TEN);
+                items.add(item);
+            }
+            order.setOrderItems(items);
+            entityManager.persist(order);
+            if (firstOrderId == null) {
+                firstOrderId = order.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pageOfOrdersLoadsGraphInTwoStatements() {
+        Statistics statistics = statistics();
+
+        List<Order> orders = orderQueryService.findPage(OrderFilter.none(), null, PageRequest.of(0, ORDERS));
+        touchGraph(orders);
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void summaryPageIsOneStatementWithoutEntities() {
+        Statistics statistics = statistics();
+
+        List<OrderSummary> orders = orderQueryService.findSummaryPage(OrderFilter.none(), null, PageRequest.of(0, ORDERS));
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders.get(0).customerId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filteredPagesFollowTheCursorNewestFirst() {
+        OrderFilter filter = new OrderFilter(OrderStatus.PENDING, customers.get(0).getId(), START.plusHours(4), START.plusHours(16));
+
+        List<Order> first = orderQueryService.findPage(filter, null, PageRequest.of(0, 2));
+        Order last = first.get(first.size() - 1);
+        List<Order> second = orderQueryService.findPage(filter, KeysetCursor.of(last.getOrderDate(), last.getId()), PageRequest.of(0, 2));
+
+        assertThat(first).extracting(Order::getOrderDate).containsExactly(START.plusHours(12), START.plusHours(8));
+        assertThat(second).extracting(Order::getOrderDate).containsExactly(START.plusHours(4));
+    }
+
+    @Test
+    void statusFilterReturnsOnlyThatStatus() {
+        List<Order> orders = orderQueryService.findPage(new OrderFilter(OrderStatus.CONFIRMED, null, null, null), null,
+                PageRequest.of(0, ORDERS));
+
+        assertThat(orders).hasSize(ORDERS / 2).extracting(Order::getStatus).containsOnly(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void singleOrderLoadsGraphInOneStatement() {
+        Statistics statistics = statistics();
+
+        Order order = orderQueryService.findById(firstOrderId).orElseThrow();
+        touchGraph(List.of(order));
+
+        assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void orderVersionsQueryMatchesTheLoadedGraphWithoutLoadingIt() {
+        Statistics statistics = statistics();
+        OrderVersions queried = orderRepository.findVersionsById(firstOrderId).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(queried).isEqualTo(OrderVersions.of(orderQueryService.findById(firstOrderId).orElseThrow()));
+    }
+
+    @Test
+    void editingAnEmbeddedProductChangesTheOrderTag() {
+        String before = EntityTags.of(orderRepository.findVersionsById(firstOrderId).orElseThrow());
+        Order order = orderQueryService.findById(firstOrderId).orElseThrow();
+        order.getOrderItems().get(0).getProduct().setName("Renamed");
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderVersions after = orderRepository.findVersionsById(firstOrderId).orElseThrow();
+
+        assertThat(EntityTags.of(after)).isNotEqualTo(before);
+        assertThat(after.order()).isEqualTo(order.getVersion());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void touchGraph(List<Order> orders) {
+        for (Order order : orders) {
+            order.getCustomer().getName();
+            for (OrderItem item : order.getOrderItems()) {
+                item.getProduct().getName();
+                item.getOrderId();
+            }
+        }
+    }
+}
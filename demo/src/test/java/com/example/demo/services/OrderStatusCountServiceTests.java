@@ -0,0 +1,116 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.OrderRepository;
+import com.example.demo.repositories.OutboxEventRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ OrderStatusCountService.class, OrderStatusService.class, OutboxService.class })
+// Commits for real: counts only move once the writing transaction commits.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStatusCountServiceTests {
+
+    @Autowired
+    private OrderStatusCountService orderStatusCountService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+    private Order pending;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Dashboard");
+        newCustomer.setAddress("Control Room 1");
+        customer = customerRepository.save(newCustomer);
+        pending = order(OrderStatus.PENDING);
+        order(OrderStatus.PENDING);
+        order(OrderStatus.CONFIRMED);
+        orderStatusCountService.resync();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void resyncCountsEveryStatus() {
+        assertThat(orderStatusCountService.counts().counts())
+                .containsEntry(OrderStatus.PENDING, 2L)
+                .containsEntry(OrderStatus.CONFIRMED, 1L)
+                .containsEntry(OrderStatus.SHIPPED, 0L);
+        assertThat(orderStatusCountService.counts().total()).isEqualTo(3);
+    }
+
+    @Test
+    void committedStatusChangeMovesTheCount() {
+        orderStatusService.changeStatus(pending.getId(), OrderStatus.CONFIRMED, null);
+
+        Map<OrderStatus, Long> counts = orderStatusCountService.counts().counts();
+        assertThat(counts).containsEntry(OrderStatus.PENDING, 1L).containsEntry(OrderStatus.CONFIRMED, 2L);
+
+        orderStatusCountService.resync();
+        assertThat(orderStatusCountService.counts().counts()).isEqualTo(counts);
+    }
+
+    @Test
+    void rolledBackStatusChangeLeavesTheCountAlone() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderStatusService.changeStatus(pending.getId(), OrderStatus.CONFIRMED, null);
+            status.setRollbackOnly();
+        });
+
+        assertThat(orderStatusCountService.counts().counts())
+                .containsEntry(OrderStatus.PENDING, 2L)
+                .containsEntry(OrderStatus.CONFIRMED, 1L);
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setTotal(BigDecimal.ONE);
+        order.setStatus(status);
+        return orderRepository.save(order);
+    }
+}
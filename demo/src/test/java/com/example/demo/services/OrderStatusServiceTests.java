@@ -0,0 +1,109 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.dto.BatchStatusChangeResponse;
+import com.example.demo.dto.OrderStatusChange;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.exceptions.InvalidStatusTransitionException;
+import com.example.demo.exceptions.PreconditionFailedException;
+import com.example.demo.outbox.OutboxService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ OrderStatusService.class, OrderStatusCountService.class, OutboxService.class })
+class OrderStatusServiceTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Dispatch");
+        newCustomer.setAddress("Depot 4");
+        customer = entityManager.persist(newCustomer);
+    }
+
+    @Test
+    void statusChangeIsOneUpdateAndBumpsTheVersion() {
+        Order order = order(OrderStatus.PENDING);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderStatusChange change = orderStatusService.changeStatus(order.getId(), OrderStatus.CONFIRMED, null);
+
+        assertThat(change.version()).isEqualTo(order.getVersion() + 1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(Order.class, order.getId()).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void disallowedTransitionIsRejected() {
+        Order order = order(OrderStatus.DELIVERED);
+
+        assertThatThrownBy(() -> orderStatusService.changeStatus(order.getId(), OrderStatus.SHIPPED, null))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        Order order = order(OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> orderStatusService.changeStatus(order.getId(), OrderStatus.CONFIRMED, order.getVersion() + 5))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void batchReportsUpdatedAndRejectedOrders() {
+        Order pending = order(OrderStatus.PENDING);
+        Order confirmed = order(OrderStatus.CONFIRMED);
+        Order delivered = order(OrderStatus.DELIVERED);
+
+        BatchStatusChangeResponse response = orderStatusService.changeStatus(
+                List.of(pending.getId(), confirmed.getId(), delivered.getId(), Long.MAX_VALUE), OrderStatus.CANCELLED);
+
+        assertThat(response.updated()).extracting(OrderStatusChange::id).containsExactlyInAnyOrder(pending.getId(), confirmed.getId());
+        assertThat(response.rejected()).extracting(BatchStatusChangeResponse.Rejected::reason).containsExactlyInAnyOrder(
+                BatchStatusChangeResponse.Reason.INVALID_TRANSITION, BatchStatusChangeResponse.Reason.NOT_FOUND);
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setTotal(BigDecimal.ONE);
+        order.setStatus(status);
+        entityManager.persistAndFlush(order);
+        entityManager.clear();
+        return order;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.dto.StreamedOrderResponse;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.exceptions.InvalidInputException;
+import com.example.demo.exceptions.ResourceNotFoundException;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerRepository;
+import com.example.demo.repositories.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "api.stream.batch-size=100")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ OrderStreamService.class, ProductCatalogCache.class, SalesRollupService.class, OrderStatusCountService.class,
+        OutboxService.class, OrderStreamServiceTests.Metrics.class })
+class OrderStreamServiceTests {
+
+    private static final int ITEMS = 1050;
+
+    @Autowired
+    private OrderStreamService orderStreamService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Wholesale");
+        newCustomer.setAddress("Warehouse 1");
+        customer = customerRepository.save(newCustomer);
+        product = productRepository.save(new Product(null, "Pizza", "Margherita", BigDecimal.TEN));
+    }
+
+    @Test
+    void itemsArePersistedInBatchesAndTotalled() {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < ITEMS; i++) {
+            items.append(i == 0 ? "" : ",").append(item(product.getId(), 2, "10.00"));
+        }
+
+        StreamedOrderResponse response = orderStreamService.ingest(body(
+                "{\"customer\":{\"id\":" + customer.getId() + "},\"status\":\"PENDING\",\"orderItems\":[" + items + "]}"));
+
+        assertThat(response.itemCount()).isEqualTo(ITEMS);
+        assertThat(response.total()).isEqualByComparingTo(BigDecimal.valueOf(20L * ITEMS));
+        assertThat(response.status()).isEqualTo(OrderStatus.PENDING);
+        // Items are detached after each batch, so the persistence context never holds a full batch.
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isLessThan(100);
+
+        entityManager.clear();
+        Long stored = entityManager.createQuery("select count(i) from OrderItem i where i.order.id = :id", Long.class)
+                .setParameter("id", response.id())
+                .getSingleResult();
+        assertThat(stored).isEqualTo(ITEMS);
+        assertThat(entityManager.find(Order.class, response.id()).getTotal()).isEqualByComparingTo(response.total());
+    }
+
+    @Test
+    void headerFieldsAfterItemsAreRejected() {
+        String json = "{\"customer\":{\"id\":" + customer.getId() + "},\"status\":\"PENDING\",\"orderItems\":["
+                + item(product.getId(), 1, "10.00") + "],\"orderDate\":\"2024-03-01T12:00:00\"}";
+
+        assertThatThrownBy(() -> orderStreamService.ingest(body(json)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("orderDate must come before orderItems");
+    }
+
+    @Test
+    void unknownProductFailsTheOrder() {
+        String json = "{\"customer\":{\"id\":" + customer.getId() + "},\"status\":\"PENDING\",\"orderItems\":["
+                + item(product.getId(), 1, "10.00") + "," + item(-1L, 1, "10.00") + "]}";
+
+        assertThatThrownBy(() -> orderStreamService.ingest(body(json)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Product not found with id -1");
+    }
+
+    @Test
+    void declaredTotalMustMatchTheItems() {
+        String json = "{\"customer\":{\"id\":" + customer.getId() + "},\"status\":\"PENDING\",\"total\":99,\"orderItems\":["
+                + item(product.getId(), 3, "10.00") + "]}";
+
+        assertThatThrownBy(() -> orderStreamService.ingest(body(json)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("add up to 30.00");
+    }
+
+    private static String item(Long productId, int quantity, String unitPrice) {
+        return "{\"product\":{\"id\":" + productId + "},\"quantity\":" + quantity + ",\"unitPrice\":" + unitPrice + "}";
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.example.demo.entities.Product;
+import com.example.demo.repositories.ProductRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductCatalogCacheTests {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductCatalogCache cache = new ProductCatalogCache(productRepository, 100, Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(new Product(1L, "Pizza", null, BigDecimal.TEN)));
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        verify(productRepository, times(1)).findById(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(new Product(1L, "Pizza", null, BigDecimal.TEN)));
+
+        cache.findById(1L);
+        cache.invalidate(1L);
+        cache.findById(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkLookupOnlyQueriesUncachedProducts() {
+        ArgumentCaptor<Iterable<Long>> queried = ArgumentCaptor.forClass(Iterable.class);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(new Product(1L, "Pizza", null, BigDecimal.TEN)));
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(new Product(2L, "Soup", null, BigDecimal.ONE)));
+        cache.findById(1L);
+
+        Map<Long, Product> products = cache.findAllById(List.of(1L, 2L, 3L));
+
+        assertThat(products).containsOnlyKeys(1L, 2L);
+        verify(productRepository).findAllById(queried.capture());
+        assertThat(queried.getValue()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(cache.findCached(2L)).isPresent();
+        assertThat(cache.findCached(3L)).isEmpty();
+    }
+
+    @Test
+    void missingProductsAreNotCached() {
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.findById(2L)).isEmpty();
+        assertThat(cache.findById(2L)).isEmpty();
+
+        verify(productRepository, times(2)).findById(2L);
+    }
+}
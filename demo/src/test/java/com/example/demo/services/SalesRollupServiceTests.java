@@ -0,0 +1,163 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.dto.RollupRebuildReport;
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.CustomerSalesMonthly;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.OrderStatus;
+import com.example.demo.entities.Product;
+import com.example.demo.entities.ProductSalesDaily;
+import com.example.demo.outbox.OutboxService;
+import com.example.demo.repositories.CustomerSalesMonthlyRepository;
+import com.example.demo.repositories.ProductSalesDailyRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ OrderService.class, SalesRollupService.class, OrderStatusCountService.class, OutboxService.class })
+class SalesRollupServiceTests {
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 14, 18, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private ProductSalesDailyRepository productSalesRepository;
+
+    @Autowired
+    private CustomerSalesMonthlyRepository customerSalesRepository;
+
+    private Customer customer;
+    private Product pizza;
+    private Product soda;
+
+    @BeforeEach
+    void seed() {
+        Customer newCustomer = new Customer();
+        newCustomer.setName("Regular");
+        newCustomer.setAddress("Main Street 1");
+        customer = entityManager.persist(newCustomer);
+        pizza = entityManager.persist(new Product(null, "Pizza", "Margherita", BigDecimal.TEN));
+        soda = entityManager.persist(new Product(null, "Soda", "Lemon", BigDecimal.ONE));
+    }
+
+    @Test
+    void createdOrdersAreAddedToBothRollups() {
+        orderService.createOrder(order(item(pizza, 2, "10.00"), item(soda, 3, "1.50")));
+        orderService.createOrder(order(item(pizza, 1, "10.00")));
+        // Increments are bulk updates, which bypass rows already loaded into the persistence context.
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(productDay(pizza).getQuantity()).isEqualTo(3);
+        assertThat(productDay(pizza).getRevenue()).isEqualByComparingTo("30.00");
+        assertThat(productDay(soda).getRevenue()).isEqualByComparingTo("4.50");
+        assertThat(customerMonth().getOrderCount()).isEqualTo(2);
+        assertThat(customerMonth().getRevenue()).isEqualByComparingTo("34.50");
+    }
+
+    @Test
+    void updatesAndDeletesAreReflectedAndRebuildFindsNoMismatches() {
+        Order first = orderService.createOrder(order(item(pizza, 2, "10.00"), item(soda, 3, "1.50")));
+        Order second = orderService.createOrder(order(item(pizza, 1, "10.00")));
+        entityManager.flush();
+
+        Order replacement = order(item(soda, 10, "1.00"));
+        replacement.setStatus(OrderStatus.CONFIRMED);
+        orderService.updateOrder(first.getId(), replacement, null);
+        OrderItem extra = orderService.createOrderItem(itemOf(second, soda, 4, "1.00"));
+        orderService.updateOrderItem(extra.getId(), itemOf(second, soda, 5, "1.00"));
+        orderService.deleteOrderItem(second.getOrderItems().get(0).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(productDay(pizza).getQuantity()).isZero();
+        assertThat(productDay(soda).getQuantity()).isEqualTo(15);
+        assertThat(customerMonth().getRevenue()).isEqualByComparingTo("15.00");
+
+        RollupRebuildReport report = salesRollupService.rebuild();
+
+        assertThat(report.productDayMismatches()).isZero();
+        assertThat(report.customerMonthMismatches()).isZero();
+        assertThat(report.productDayRows()).isEqualTo(1);
+
+        orderService.deleteOrder(second.getId());
+        orderService.deleteOrder(first.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(customerMonth().getOrderCount()).isZero();
+        assertThat(salesRollupService.rebuild().customerMonthMismatches()).isZero();
+    }
+
+    @Test
+    void rebuildRepairsRowsWrittenBehindTheServicesBack() {
+        orderService.createOrder(order(item(pizza, 2, "10.00")));
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("update ProductSalesDaily r set r.quantity = 99").executeUpdate();
+        entityManager.clear();
+
+        RollupRebuildReport report = salesRollupService.rebuild();
+
+        assertThat(report.productDayMismatches()).isEqualTo(1);
+        assertThat(productDay(pizza).getQuantity()).isEqualTo(2);
+    }
+
+    private ProductSalesDaily productDay(Product product) {
+        return productSalesRepository.findById(new ProductSalesDaily.Key(product.getId(), ORDER_DATE.toLocalDate())).orElseThrow();
+    }
+
+    private CustomerSalesMonthly customerMonth() {
+        return customerSalesRepository.findById(new CustomerSalesMonthly.Key(customer.getId(), LocalDate.of(2024, 3, 1))).orElseThrow();
+    }
+
+    private Order order(OrderItem... items) {
+        Customer reference = new Customer();
+        reference.setId(customer.getId());
+        Order order = new Order();
+        order.setCustomer(reference);
+        order.setOrderDate(ORDER_DATE);
+        order.setStatus(OrderStatus.PENDING);
+        order.setOrderItems(new ArrayList<>(List.of(items)));
+        return order;
+    }
+
+    private OrderItem item(Product product, int quantity, String unitPrice) {
+        OrderItem item = new OrderItem();
+        item.setProduct(new Product(product.getId(), null, null, null));
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        return item;
+    }
+
+    private OrderItem itemOf(Order order, Product product, int quantity, String unitPrice) {
+        OrderItem item = item(product, quantity, unitPrice);
+        item.setOrderId(order.getId());
+        return item;
+    }
+}
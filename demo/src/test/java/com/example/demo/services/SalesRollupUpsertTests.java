@@ -0,0 +1,102 @@
+package com.example.demo.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.entities.Customer;
+import com.example.demo.entities.CustomerSalesMonthly;
+import com.example.demo.entities.Order;
+import com.example.demo.entities.OrderItem;
+import com.example.demo.entities.Product;
+import com.example.demo.entities.ProductSalesDaily;
+import com.example.demo.repositories.CustomerSalesMonthlyRepository;
+import com.example.demo.repositories.ProductSalesDailyRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SalesRollupService.class)
+// Commits for real: a lost insert race must leave the transaction able to commit.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalesRollupUpsertTests {
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 14, 18, 30);
+    private static final long PRODUCT_ID = 7;
+    private static final long CUSTOMER_ID = 11;
+
+    @SpyBean
+    private ProductSalesDailyRepository productSalesRepository;
+
+    @Autowired
+    private CustomerSalesMonthlyRepository customerSalesRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        productSalesRepository.deleteAllInBatch();
+        customerSalesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rowInsertedByAConcurrentTransactionIsIncrementedInstead() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> salesRollupService.apply(new SalesRollupService.Delta().add(order(2))));
+
+        // The second order lost the race: its increment ran before the first order's row was committed.
+        // Later calls go to the repository, which the spy's default answer delegates to.
+        Answer<?> repository = Mockito.mockingDetails(productSalesRepository).getMockCreationSettings().getDefaultAnswer();
+        doReturn(0).doAnswer(repository).when(productSalesRepository).increment(any(), any(), anyLong(), any());
+        transaction.executeWithoutResult(status -> salesRollupService.apply(new SalesRollupService.Delta().add(order(3))));
+
+        ProductSalesDaily productDay = productSalesRepository
+                .findById(new ProductSalesDaily.Key(PRODUCT_ID, ORDER_DATE.toLocalDate())).orElseThrow();
+        assertThat(productDay.getQuantity()).isEqualTo(5);
+        assertThat(productDay.getRevenue()).isEqualByComparingTo("50.00");
+        CustomerSalesMonthly customerMonth = customerSalesRepository
+                .findById(new CustomerSalesMonthly.Key(CUSTOMER_ID, LocalDate.of(2024, 3, 1))).orElseThrow();
+        assertThat(customerMonth.getOrderCount()).isEqualTo(2);
+    }
+
+    private static Order order(int quantity) {
+        Customer customer = new Customer();
+        customer.setId(CUSTOMER_ID);
+        Product product = new Product(PRODUCT_ID, "Pizza", "Margherita", BigDecimal.TEN);
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(ORDER_DATE);
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("10.00"));
+        order.setOrderItems(List.of(item));
+        return order;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.web.AdaptiveConcurrencyLimiter.Priority;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final AtomicLong clock = new AtomicLong();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 50, Duration.ofMillis(500), 0.5, 0.5, clock::get);
+    }
+
+    @Test
+    void requestsOverTheLimitAreRejected() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        limiter.release(FAST, true);
+
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    }
+
+    @Test
+    void lowPriorityRequestsOnlyGetTheirShare() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    }
+
+    @Test
+    void slowRequestsShrinkTheLimitOncePerInterval() {
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.tryAcquire(Priority.CRITICAL);
+
+        limiter.release(SLOW, true);
+        limiter.release(SLOW, true);
+        assertThat(limiter.limit()).isEqualTo(5.0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.release(0, false);
+        assertThat(limiter.limit()).isEqualTo(2.5);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.release(SLOW, true);
+        assertThat(limiter.limit()).isEqualTo(2.0);
+    }
+
+    @Test
+    void fastRequestsGrowTheLimitOnlyWhileItIsUsed() {
+        limiter.tryAcquire(Priority.CRITICAL);
+        limiter.release(FAST, true);
+        assertThat(limiter.limit()).isEqualTo(10.0);
+
+        for (int round = 0; round < 20; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire(Priority.CRITICAL)) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(FAST, true);
+            }
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(15.0).isLessThanOrEqualTo(50.0);
+        assertThat(limiter.inFlight()).isZero();
+    }
+}
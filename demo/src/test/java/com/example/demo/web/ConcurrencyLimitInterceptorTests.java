@@ -0,0 +1,59 @@
+package com.example.demo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.demo.exceptions.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+
+class ConcurrencyLimitInterceptorTests {
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(500), 0.5, 0.5, System::nanoTime);
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(limiter, List.of("/order/export"), new SimpleMeterRegistry());
+
+    @Test
+    void streamingExportHoldsItsPermitUntilTheAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/order/export");
+        request.setServletPath("/order/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        // The export's share of the limit is used up while it streams.
+        assertThatThrownBy(() -> interceptor.preHandle(get("/order/export"), new MockHttpServletResponse(), null))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
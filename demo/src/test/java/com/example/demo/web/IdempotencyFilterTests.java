@@ -0,0 +1,140 @@
+package com.example.demo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTests {
+
+    private IdempotencyFilter filter;
+    private AtomicInteger inserts;
+    private int nextStatus;
+    private ServletStep duringRequest;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdempotencyStore store = new IdempotencyStore(1024 * 1024, Duration.ofMinutes(5), meterRegistry);
+        filter = new IdempotencyFilter(store, new ObjectMapper(), meterRegistry, 64 * 1024);
+        inserts = new AtomicInteger();
+        nextStatus = 201;
+        duringRequest = () -> { };
+    }
+
+    @Test
+    void retryReplaysTheStoredResponseWithoutRunningAgain() throws Exception {
+        MockHttpServletResponse first = post("key-1", "{\"status\":\"PENDING\"}");
+        MockHttpServletResponse retry = post("key-1", "{\"status\":\"PENDING\"}");
+
+        assertThat(inserts).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/order/1");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED)).isNull();
+    }
+
+    @Test
+    void differentKeysRunIndependently() throws Exception {
+        post("key-1", "{}");
+        post("key-2", "{}");
+
+        assertThat(inserts).hasValue(2);
+    }
+
+    @Test
+    void reusedKeyWithADifferentBodyIsRejected() throws Exception {
+        post("key-1", "{\"status\":\"PENDING\"}");
+        MockHttpServletResponse retry = post("key-1", "{\"status\":\"SHIPPED\"}");
+
+        assertThat(retry.getStatus()).isEqualTo(422);
+        assertThat(inserts).hasValue(1);
+    }
+
+    @Test
+    void duplicateArrivingWhileTheFirstIsRunningGetsConflict() throws Exception {
+        MockHttpServletResponse[] duplicate = new MockHttpServletResponse[1];
+        duringRequest = () -> {
+            duringRequest = () -> { };
+            duplicate[0] = post("key-1", "{}");
+        };
+
+        MockHttpServletResponse first = post("key-1", "{}");
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(duplicate[0].getStatus()).isEqualTo(409);
+        assertThat(duplicate[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(inserts).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStoredSoTheRetryRunsAgain() throws Exception {
+        nextStatus = 503;
+        post("key-1", "{}");
+        nextStatus = 201;
+        MockHttpServletResponse retry = post("key-1", "{}");
+
+        assertThat(inserts).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED)).isNull();
+    }
+
+    @Test
+    void requestsWithoutAKeyAreNotTracked() throws Exception {
+        post(null, "{}");
+        post(null, "{}");
+
+        assertThat(inserts).hasValue(2);
+    }
+
+    private MockHttpServletResponse post(String key, String body) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/order");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new OrderServlet(), filter).doFilter(request, response);
+        return response;
+    }
+
+    /** Work run in the middle of a request; may itself send a request through the filter. */
+    @FunctionalInterface
+    private interface ServletStep {
+        void run() throws ServletException, IOException;
+    }
+
+    /** Stands in for OrderController.createOrder: reads the body and "inserts" an order. */
+    private class OrderServlet extends HttpServlet {
+
+        @Override
+        protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+            request.getInputStream().readAllBytes();
+            duringRequest.run();
+            int id = inserts.incrementAndGet();
+            response.setStatus(nextStatus);
+            response.setHeader(HttpHeaders.LOCATION, "/api/order/" + id);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + id + "}");
+        }
+    }
+}
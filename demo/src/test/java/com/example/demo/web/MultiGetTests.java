@@ -0,0 +1,42 @@
+package com.example.demo.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.MultiGetResponse;
+import com.example.demo.exceptions.InvalidInputException;
+
+class MultiGetTests {
+
+    private final MultiGet multiGet = new MultiGet(3);
+
+    @Test
+    void duplicatesCollapseInFirstSeenOrder() {
+        assertThat(multiGet.resolveIds(List.of(3L, 1L, 3L, 2L, 1L))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void tooManyIdsAreRejected() {
+        assertThatThrownBy(() -> multiGet.resolveIds(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(InvalidInputException.class);
+    }
+
+    @Test
+    void emptyIdsAreRejected() {
+        assertThatThrownBy(() -> multiGet.resolveIds(List.of())).isInstanceOf(InvalidInputException.class);
+        assertThatThrownBy(() -> multiGet.resolveIds(Arrays.asList(1L, null))).isInstanceOf(InvalidInputException.class);
+    }
+
+    @Test
+    void itemsFollowRequestOrderAndMissingIdsAreReported() {
+        MultiGetResponse<String> response = multiGet.respond(List.of(3L, 1L, 2L), List.of("1", "3"), Long::valueOf);
+
+        assertThat(response.items()).containsExactly("3", "1");
+        assertThat(response.missing()).containsExactly(2L);
+    }
+}